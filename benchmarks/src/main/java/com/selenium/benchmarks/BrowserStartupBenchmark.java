@@ -0,0 +1,139 @@
+package com.selenium.benchmarks;
+
+import com.selenium.utils.BrowserProfile;
+import com.selenium.utils.ConfigReader;
+import com.selenium.utils.DriverFactory;
+import com.selenium.utils.LocalAppServer;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Launches a real browser with each {@link BrowserProfile} and measures the time to
+ * a ready session, the time of the first page load from the in-JVM local app, and the
+ * memory of the driver and browser processes once that page is loaded. Memory is the
+ * sum over every process this JVM started: RSS counts pages shared between browser
+ * processes once per process, PSS splits them, so PSS is the better number for how
+ * many sessions fit on a host. Memory needs Linux /proc and local drivers.
+ * Not a JMH benchmark: a launch takes seconds, so each one is timed directly.
+ * <pre>
+ * java -Dbrowser=chrome -cp target/benchmarks.jar com.selenium.benchmarks.BrowserStartupBenchmark 5 target/profiles-chrome.md
+ * </pre>
+ */
+public class BrowserStartupBenchmark {
+    private static final Path PROC = Paths.get("/proc");
+
+    public static void main(String[] args) throws IOException {
+        int launches = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        if (launches < 1) {
+            throw new IllegalArgumentException("Launches must be at least 1 but was " + launches);
+        }
+        String url = LocalAppServer.getUrl();
+
+        StringBuilder table = new StringBuilder();
+        table.append("| Browser | Profile | Startup ms | First load ms | RSS MB | PSS MB |\n");
+        table.append("|---------|---------|-----------:|--------------:|-------:|-------:|\n");
+        try {
+            for (BrowserProfile profile : BrowserProfile.values()) {
+                // The first launch of each profile pays for disk caches and is not counted
+                launch(profile, url);
+                List<long[]> samples = new ArrayList<>();
+                for (int i = 0; i < launches; i++) {
+                    samples.add(launch(profile, url));
+                }
+                table.append("| ").append(ConfigReader.getBrowser())
+                        .append(" | ").append(profile)
+                        .append(" | ").append(median(samples, 0))
+                        .append(" | ").append(median(samples, 1))
+                        .append(" | ").append(megabytes(median(samples, 2)))
+                        .append(" | ").append(megabytes(median(samples, 3)))
+                        .append(" |\n");
+            }
+        } finally {
+            LocalAppServer.stop();
+        }
+
+        System.out.print(table);
+        if (args.length > 1) {
+            Path results = Paths.get(args[1]);
+            if (results.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(results.toAbsolutePath().getParent());
+            }
+            Files.write(results, table.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long[] launch(BrowserProfile profile, String url) {
+        long start = System.nanoTime();
+        WebDriver driver = DriverFactory.createDriver(profile);
+        try {
+            long started = System.nanoTime();
+            driver.get(url);
+            long loaded = System.nanoTime();
+            long[] memory = childMemory();
+            return new long[] {(started - start) / 1_000_000, (loaded - started) / 1_000_000, memory[0], memory[1]};
+        } finally {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Sum the RSS and PSS in kB of every process started by this JVM, or -1 where they cannot be read
+     */
+    private static long[] childMemory() {
+        if (!Files.isDirectory(PROC)) {
+            return new long[] {-1, -1};
+        }
+        long[] total = {0, 0};
+        boolean[] found = {false};
+        ProcessHandle.current().descendants().forEach(process -> {
+            Path dir = PROC.resolve(String.valueOf(process.pid()));
+            long rss = kilobytes(dir.resolve("smaps_rollup"), "Rss:");
+            long pss = kilobytes(dir.resolve("smaps_rollup"), "Pss:");
+            if (rss < 0) {
+                // Kernels before 4.14 have no smaps_rollup
+                rss = kilobytes(dir.resolve("status"), "VmRSS:");
+            }
+            if (rss >= 0) {
+                found[0] = true;
+                total[0] += rss;
+                total[1] = pss < 0 || total[1] < 0 ? -1 : total[1] + pss;
+            }
+        });
+        return found[0] ? total : new long[] {-1, -1};
+    }
+
+    private static long kilobytes(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+                }
+            }
+            return -1;
+        } catch (IOException e) {
+            // The process exited or its memory is not readable
+            return -1;
+        }
+    }
+
+    private static long median(List<long[]> samples, int field) {
+        List<Long> values = new ArrayList<>();
+        for (long[] sample : samples) {
+            values.add(sample[field]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    private static String megabytes(long kilobytes) {
+        return kilobytes < 0 ? "n/a" : String.valueOf(Math.round(kilobytes / 1024.0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.selenium.benchmarks;
+
+import com.selenium.utils.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigReader getters, which page objects and waits call on every construction,
+ * against reading the same key from a plain Properties object
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigReaderBenchmark {
+    private Properties properties;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        properties = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/config.properties")) {
+            properties.load(in);
+        }
+    }
+
+    @Benchmark
+    public String rawGetProperty() {
+        return properties.getProperty("browser");
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigReader.getProperty("browser");
+    }
+
+    @Benchmark
+    public int rawGetIntProperty() {
+        return Integer.parseInt(properties.getProperty("explicit.wait").trim());
+    }
+
+    @Benchmark
+    public int getIntProperty() {
+        return ConfigReader.getIntProperty("explicit.wait", 15);
+    }
+
+    @Benchmark
+    public Duration getExplicitWaitDuration() {
+        return ConfigReader.getExplicitWaitDuration();
+    }
+
+    @Benchmark
+    public String getUrl() {
+        return ConfigReader.getUrl();
+    }
+}
@@ -0,0 +1,194 @@
+package com.selenium.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-memory driver in which every element exists, is displayed and is enabled.
+ * Each command busy-waits for a fixed latency, standing in for the round-trip to a
+ * browser without the scheduling jitter of sleeping, so framework time is what varies.
+ * A blocking driver parks for the latency instead, like a thread waiting on its socket.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private final long latencyNanos;
+    private final boolean blocking;
+    private final Map<By, FakeWebElement> elements = new ConcurrentHashMap<>();
+    private final LongAdder commands = new LongAdder();
+
+    /**
+     * @param latencyMicros Time every command takes, 0 for none
+     */
+    public FakeWebDriver(long latencyMicros) {
+        this(latencyMicros, false);
+    }
+
+    /**
+     * @param latencyMicros Time every command takes, 0 for none
+     * @param blocking Park the calling thread for the latency rather than spin
+     */
+    public FakeWebDriver(long latencyMicros, boolean blocking) {
+        this.latencyNanos = latencyMicros * 1000;
+        this.blocking = blocking;
+    }
+
+    /**
+     * Account for one command, taking the configured latency
+     */
+    void command() {
+        commands.increment();
+        if (latencyNanos > 0 && blocking) {
+            LockSupport.parkNanos(latencyNanos);
+        } else if (latencyNanos > 0) {
+            long deadline = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Get the number of commands sent so far
+     */
+    public long getCommands() {
+        return commands.sum();
+    }
+
+    @Override
+    public void get(String url) {
+        command();
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command();
+        return "http://localhost/";
+    }
+
+    @Override
+    public String getTitle() {
+        command();
+        return "Swag Labs";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command();
+        return List.of(element(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command();
+        return element(by);
+    }
+
+    private FakeWebElement element(By by) {
+        return elements.computeIfAbsent(by, locator -> new FakeWebElement(this, locator));
+    }
+
+    @Override
+    public String getPageSource() {
+        command();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        command();
+    }
+
+    @Override
+    public void quit() {
+        command();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        command();
+        return Set.of("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        command();
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage");
+    }
+
+    /**
+     * Answers the batched element state query with every element shown, and anything else with null
+     */
+    @Override
+    public Object executeScript(String script, Object... args) {
+        unwrapArguments(args);
+        command();
+        if (args.length == 0 || !(args[0] instanceof List)) {
+            return null;
+        }
+        List<Object> states = new ArrayList<>();
+        for (Object ignored : (List<?>) args[0]) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("present", true);
+            state.put("displayed", true);
+            state.put("enabled", true);
+            state.put("text", "");
+            state.put("attributes", Map.of());
+            states.add(state);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("url", "http://localhost/");
+        result.put("title", "Swag Labs");
+        result.put("readyState", "complete");
+        result.put("elements", states);
+        return result;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        unwrapArguments(args);
+        command();
+        return true;
+    }
+
+    /**
+     * Locate page element proxies passed to a script, as a remote driver does to send their ids
+     */
+    private static void unwrapArguments(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof WrapsElement) {
+                ((WrapsElement) arg).getWrappedElement();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebDriver";
+    }
+}
@@ -0,0 +1,123 @@
+package com.selenium.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Element of a {@link FakeWebDriver}; every call is one command with the driver's latency
+ */
+public class FakeWebElement implements WebElement {
+    private final FakeWebDriver driver;
+    private final By locator;
+
+    FakeWebElement(FakeWebDriver driver, By locator) {
+        this.driver = driver;
+        this.locator = locator;
+    }
+
+    @Override
+    public void click() {
+        driver.command();
+    }
+
+    @Override
+    public void submit() {
+        driver.command();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.command();
+    }
+
+    @Override
+    public void clear() {
+        driver.command();
+    }
+
+    @Override
+    public String getTagName() {
+        driver.command();
+        return "input";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.command();
+        return "";
+    }
+
+    @Override
+    public boolean isSelected() {
+        driver.command();
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.command();
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        driver.command();
+        return "Products";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return driver.findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return driver.findElement(by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        driver.command();
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        driver.command();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        driver.command();
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        driver.command();
+        return new Rectangle(0, 0, 20, 100);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        driver.command();
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("getScreenshotAs");
+    }
+
+    @Override
+    public String toString() {
+        return "[FakeWebDriver] -> " + locator;
+    }
+}
@@ -0,0 +1,131 @@
+package com.selenium.benchmarks;
+
+import com.selenium.pages.PageObjectFactory;
+import com.selenium.utils.ElementDescriptor;
+import com.selenium.utils.TestLogBufferAppender;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the interaction log line under parallel load: the previous
+ * INFO message with element.toString() against the DEBUG message with a lazy
+ * {@link ElementDescriptor}, each with synchronous and asynchronous logging
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final Logger logger = LogManager.getLogger("com.selenium.benchmarks.Logging");
+
+    /** log4j2-bench-sync.xml or log4j2-bench-async.xml */
+    @Param({"sync", "async"})
+    public String logging;
+
+    private Elements elements;
+
+    /**
+     * Element holder decorated like a page object
+     */
+    public static class Elements {
+        @FindBy(id = "user-name")
+        public WebElement usernameField;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Configurator.reconfigure(getClass().getResource("/log4j2-bench-" + logging + ".xml").toURI());
+        elements = new Elements();
+        PageObjectFactory.initElements(locatingDriver(), elements);
+    }
+
+    /**
+     * Tags each benchmark thread like BaseTest tags a test, so the per-test buffer receives the events
+     */
+    @State(Scope.Thread)
+    public static class TestThread {
+        @Setup(Level.Trial)
+        public void tag() {
+            ThreadContext.put(TestLogBufferAppender.TEST_KEY, "LoggingBenchmark-" + Thread.currentThread().getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LogManager.shutdown();
+    }
+
+    /**
+     * What every BasePage and WebUtils action logged before
+     */
+    @Benchmark
+    public void infoWithToString(TestThread thread) {
+        logger.info("Clicked on element: {}", elements.usernameField.toString());
+    }
+
+    @Benchmark
+    public void debugWithDescriptor(TestThread thread) {
+        logger.debug("Clicked on element: {}", ElementDescriptor.of(elements.usernameField));
+    }
+
+    /**
+     * Driver whose findElement answers instantly, so toString() on a proxy only pays
+     * for the lookup dispatch a real driver would turn into a remote call
+     */
+    static WebDriver locatingDriver() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(LoggingBenchmark.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "[StubDriver] -> id: user-name";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        return (WebDriver) Proxy.newProxyInstance(LoggingBenchmark.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
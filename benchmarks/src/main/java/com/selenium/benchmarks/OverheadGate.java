@@ -0,0 +1,200 @@
+package com.selenium.benchmarks;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Fails the build when a framework benchmark costs more than its raw WebDriver
+ * baseline by more than the thresholds allow. Reads a JMH JSON result file
+ * (-rf json, with -prof gc for allocations) and a thresholds file in which each
+ * gated benchmark names its baseline in the same class and may override the defaults.
+ * Runs without command latency are held to max.ns of CPU time per action; runs with
+ * a latencyMicros parameter to max.commands extra driver round-trips per action.
+ * <pre>
+ * PageActionBenchmark.basePageClick.baseline=rawClick
+ * PageActionBenchmark.basePageClick.max.ns=20000
+ * PageActionBenchmark.basePageClick.max.commands=4
+ * PageActionBenchmark.basePageClick.max.bytes=4096
+ * </pre>
+ */
+public class OverheadGate {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final String BASELINE = ".baseline";
+
+    private final Properties thresholds;
+
+    public OverheadGate(Properties thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Usage: OverheadGate jmh-result.json overhead-thresholds.properties
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: OverheadGate <jmh-result.json> <overhead-thresholds.properties>");
+        }
+        Properties thresholds = new Properties();
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            thresholds.load(reader);
+        }
+        List<String> breaches = new OverheadGate(thresholds).check(Paths.get(args[0]));
+        if (!breaches.isEmpty()) {
+            throw new IllegalStateException("Framework overhead above threshold:\n  " + String.join("\n  ", breaches));
+        }
+        System.out.println("Framework overhead within thresholds");
+    }
+
+    /**
+     * Compare every gated benchmark in the results with its baseline run of the same parameters
+     * @return Description of every threshold exceeded, empty if none
+     */
+    public List<String> check(Path results) throws IOException {
+        List<Map<String, Object>> runs;
+        try (Reader reader = Files.newBufferedReader(results, StandardCharsets.UTF_8)) {
+            runs = new Json().toType(reader, Json.LIST_OF_MAPS_TYPE);
+        }
+
+        List<String> breaches = new ArrayList<>();
+        int compared = 0;
+        System.out.println(String.format("%-50s %-22s %12s %12s %12s %12s",
+                "Benchmark", "Params", "overhead", "allowed", "B/op", "allowed"));
+        for (Map<String, Object> run : runs) {
+            String name = shortName(run);
+            String baselineName = thresholds.getProperty(name + BASELINE);
+            if (baselineName == null) {
+                continue;
+            }
+            String baselineFullName = name.substring(0, name.lastIndexOf('.') + 1) + baselineName;
+            Map<String, Object> baseline = find(runs, baselineFullName, run.get("params"));
+            if (baseline == null) {
+                breaches.add(name + " " + params(run) + ": no " + baselineFullName + " result to compare with");
+                continue;
+            }
+            compared++;
+
+            long latencyNanos = (long) (number(params(run).getOrDefault("latencyMicros", "0")) * 1000);
+            double overheadNanos = nanosPerOp(run) - nanosPerOp(baseline);
+            String overhead;
+            String allowed;
+            if (latencyNanos == 0) {
+                double maxNanos = threshold(name, "max.ns");
+                overhead = String.format("%.0f ns", overheadNanos);
+                allowed = String.format("%.0f ns", maxNanos);
+                if (overheadNanos > maxNanos) {
+                    breaches.add(String.format("%s %s: %s/op over %s, allowed %s",
+                            name, params(run), overhead, baselineName, allowed));
+                }
+            } else {
+                // Command latency dwarfs framework CPU time, so the difference counts round-trips
+                long extraCommands = Math.round(overheadNanos / latencyNanos);
+                long maxCommands = (long) threshold(name, "max.commands");
+                overhead = extraCommands + " cmd";
+                allowed = maxCommands + " cmd";
+                if (extraCommands > maxCommands) {
+                    breaches.add(String.format("%s %s: %d commands/op more than %s, allowed %d",
+                            name, params(run), extraCommands, baselineName, maxCommands));
+                }
+            }
+
+            Double allocated = allocation(run);
+            Double baselineAllocated = allocation(baseline);
+            double overheadBytes = allocated == null || baselineAllocated == null
+                    ? Double.NaN : allocated - baselineAllocated;
+            double allowedBytes = threshold(name, "max.bytes");
+            if (overheadBytes > allowedBytes) {
+                breaches.add(String.format("%s %s: %.0f B/op over %s, allowed %.0f",
+                        name, params(run), overheadBytes, baselineName, allowedBytes));
+            }
+            System.out.println(String.format("%-50s %-22s %12s %12s %12.0f %12.0f",
+                    name, params(run), overhead, allowed, overheadBytes, allowedBytes));
+        }
+        if (compared == 0) {
+            breaches.add("No gated benchmarks found in " + results);
+        }
+        return breaches;
+    }
+
+    private double threshold(String name, String key) {
+        String value = thresholds.getProperty(name + "." + key, thresholds.getProperty("default." + key));
+        if (value == null) {
+            throw new IllegalArgumentException("No " + key + " threshold for " + name + " and no default." + key);
+        }
+        return Double.parseDouble(value.trim());
+    }
+
+    private static Map<String, Object> find(List<Map<String, Object>> runs, String name, Object params) {
+        for (Map<String, Object> run : runs) {
+            if (name.equals(shortName(run)) && params(run).equals(params == null ? Map.of() : params)) {
+                return run;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Class and method of the benchmark, without the package
+     */
+    private static String shortName(Map<String, Object> run) {
+        String benchmark = (String) run.get("benchmark");
+        int method = benchmark.lastIndexOf('.');
+        return benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> params(Map<String, Object> run) {
+        Object params = run.get("params");
+        return params == null ? Map.of() : (Map<String, Object>) params;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double nanosPerOp(Map<String, Object> run) {
+        Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+        String unit = (String) metric.get("scoreUnit");
+        double score = number(metric.get("score"));
+        switch (unit) {
+            case "ns/op":
+                return score;
+            case "us/op":
+                return score * 1_000;
+            case "ms/op":
+                return score * 1_000_000;
+            case "s/op":
+                return score * 1_000_000_000;
+            default:
+                throw new IllegalArgumentException("Gated benchmarks must report time per operation, not " + unit);
+        }
+    }
+
+    /**
+     * Bytes allocated per operation, or null if the run was not profiled with -prof gc
+     */
+    @SuppressWarnings("unchecked")
+    private static Double allocation(Map<String, Object> run) {
+        Map<String, Object> secondary = (Map<String, Object>) run.get("secondaryMetrics");
+        if (secondary == null) {
+            return null;
+        }
+        for (Map.Entry<String, Object> metric : secondary.entrySet()) {
+            // Profiler metrics are prefixed with a middle dot in JMH output
+            if (metric.getKey().replace("\u00B7", "").equals(ALLOCATION)) {
+                return number(((Map<String, Object>) metric.getValue()).get("score"));
+            }
+        }
+        return null;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(String.valueOf(value));
+    }
+}
@@ -0,0 +1,174 @@
+package com.selenium.benchmarks;
+
+import com.selenium.pages.BasePage;
+import com.selenium.utils.DriverContext;
+import com.selenium.utils.WebUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a page action through BasePage and WebUtils against the same action on
+ * raw WebDriver, on a {@link FakeWebDriver} with the given latency per command.
+ * raw* benchmarks are the baselines the overhead gate subtracts; the difference is
+ * framework CPU time, allocation and the extra commands its waits send.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageActionBenchmark {
+    private static final By USERNAME = By.id("user-name");
+    private static final By PASSWORD = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+
+    /** Microseconds every driver command takes */
+    @Param({"0", "50"})
+    public long latencyMicros;
+
+    private WebDriver driver;
+    private BenchmarkPage page;
+    private WebUtils webUtils;
+
+    /**
+     * Page object exposing the protected BasePage actions
+     */
+    public static class BenchmarkPage extends BasePage {
+        @FindBy(id = "user-name")
+        private WebElement usernameField;
+
+        @FindBy(id = "password")
+        private WebElement passwordField;
+
+        @FindBy(id = "login-button")
+        private WebElement loginButton;
+
+        public BenchmarkPage(WebDriver driver) {
+            super(driver);
+        }
+
+        public void clickLogin() {
+            clickElement(loginButton);
+        }
+
+        public void enterUsername(String username) {
+            sendKeys(usernameField, username);
+        }
+
+        public String getUsernameText() {
+            return getText(usernameField);
+        }
+
+        public boolean isFormDisplayed() {
+            return areElementsDisplayed(usernameField, passwordField, loginButton);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The suite's logging: DEBUG for the framework through the async ring buffer
+        Configurator.reconfigure(getClass().getResource("/log4j2-bench-async.xml").toURI());
+        driver = new FakeWebDriver(latencyMicros);
+        page = new BenchmarkPage(driver);
+        webUtils = new WebUtils(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverContext.release(driver);
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public void rawClick() {
+        driver.findElement(LOGIN_BUTTON).click();
+    }
+
+    @Benchmark
+    public void basePageClick() {
+        page.clickLogin();
+    }
+
+    @Benchmark
+    public void rawSendKeys() {
+        WebElement element = driver.findElement(USERNAME);
+        element.clear();
+        element.sendKeys("standard_user");
+    }
+
+    @Benchmark
+    public void basePageSendKeys() {
+        page.enterUsername("standard_user");
+    }
+
+    @Benchmark
+    public void webUtilsClearAndSendKeys() {
+        webUtils.clearAndSendKeys(page.usernameField, "standard_user");
+    }
+
+    @Benchmark
+    public String rawGetText() {
+        return driver.findElement(USERNAME).getText();
+    }
+
+    @Benchmark
+    public String basePageGetText() {
+        return page.getUsernameText();
+    }
+
+    @Benchmark
+    public String rawGetAttribute() {
+        return driver.findElement(USERNAME).getAttribute("value");
+    }
+
+    @Benchmark
+    public String webUtilsGetAttribute() {
+        return webUtils.getElementAttribute(page.usernameField, "value");
+    }
+
+    @Benchmark
+    public Object rawClickUsingJS() {
+        return ((JavascriptExecutor) driver).executeScript("arguments[0].click();", driver.findElement(LOGIN_BUTTON));
+    }
+
+    @Benchmark
+    public void webUtilsClickUsingJS() {
+        webUtils.clickUsingJS(page.loginButton);
+    }
+
+    @Benchmark
+    public boolean rawAreElementsDisplayed() {
+        return driver.findElement(USERNAME).isDisplayed()
+                && driver.findElement(PASSWORD).isDisplayed()
+                && driver.findElement(LOGIN_BUTTON).isDisplayed();
+    }
+
+    /**
+     * One batched script instead of a lookup and a visibility check per element
+     */
+    @Benchmark
+    public boolean basePageAreElementsDisplayed() {
+        return page.isFormDisplayed();
+    }
+}
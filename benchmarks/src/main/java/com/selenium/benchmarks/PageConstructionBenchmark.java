@@ -0,0 +1,96 @@
+package com.selenium.benchmarks;
+
+import com.selenium.pages.DashboardPage;
+import com.selenium.pages.LoginPage;
+import com.selenium.pages.PageObjectFactory;
+import com.selenium.utils.ConfigReader;
+import com.selenium.utils.DriverContext;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares page object construction through PageFactory.initElements (the
+ * previous BasePage constructor) with the cached PageObjectFactory paths
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageConstructionBenchmark {
+    private WebDriver driver;
+    private LoginPage loginPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = stubDriver();
+        loginPage = new LoginPage(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverContext.release(driver);
+    }
+
+    /**
+     * What every page construction cost before: a fresh wait plus reflective PageFactory decoration
+     */
+    @Benchmark
+    public Object pageFactoryInitElements() {
+        WebDriverWait wait = new WebDriverWait(driver, ConfigReader.getExplicitWaitDuration());
+        PageFactory.initElements(driver, loginPage);
+        return wait;
+    }
+
+    @Benchmark
+    public LoginPage cachedLoginPageConstruction() {
+        return new LoginPage(driver);
+    }
+
+    @Benchmark
+    public DashboardPage cachedDashboardPageConstruction() {
+        return new DashboardPage(driver);
+    }
+
+    @Benchmark
+    public LoginPage sessionScopedLoginPage() {
+        return PageObjectFactory.get(driver, LoginPage.class);
+    }
+
+    /**
+     * Driver that is never called during construction; element proxies locate lazily
+     */
+    static WebDriver stubDriver() {
+        return (WebDriver) Proxy.newProxyInstance(PageConstructionBenchmark.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
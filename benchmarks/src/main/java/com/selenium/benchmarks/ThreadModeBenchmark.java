@@ -0,0 +1,109 @@
+package com.selenium.benchmarks;
+
+import com.selenium.pages.LoginPage;
+import com.selenium.pages.PageObjectFactory;
+import com.selenium.utils.DriverContext;
+import com.selenium.utils.ThreadFactories;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run a batch of login tests on a fixed pool of platform or virtual worker
+ * threads, as TestNG runs parallel methods with and without VirtualThreadExecutorFactory.
+ * Every test has its own blocking {@link FakeWebDriver}, so workers spend their time
+ * parked in driver commands like they do on a browser's socket, and keeps it in a
+ * ThreadLocal like DriverFactory, checking that it never sees another test's driver.
+ * The virtual mode needs JDK 21: run it there, or pass -p threadMode=platform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+    private static final int TESTS = 512;
+    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+
+    /** Worker threads, the TestNG thread-count */
+    @Param({"16", "128", "512"})
+    public int threads;
+
+    @Param({"platform", "virtual"})
+    public String threadMode;
+
+    /** Microseconds every driver command is parked for */
+    @Param({"2000"})
+    public long latencyMicros;
+
+    private ExecutorService workers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Configurator.reconfigure(getClass().getResource("/log4j2-bench-async.xml").toURI());
+        ThreadFactory factory = "virtual".equals(threadMode)
+                ? ThreadFactories.virtual("worker")
+                : ThreadFactories.platform("worker");
+        workers = Executors.newFixedThreadPool(threads, factory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public void loginTests() throws InterruptedException, ExecutionException {
+        List<Future<?>> tests = new ArrayList<>(TESTS);
+        for (int i = 0; i < TESTS; i++) {
+            tests.add(workers.submit(this::loginTest));
+        }
+        for (Future<?> test : tests) {
+            test.get();
+        }
+    }
+
+    /**
+     * Lease, log in and release like a BaseTest method does
+     */
+    private void loginTest() {
+        WebDriver driver = new FakeWebDriver(latencyMicros, true);
+        driverThreadLocal.set(driver);
+        try {
+            LoginPage page = PageObjectFactory.get(driverThreadLocal.get(), LoginPage.class);
+            page.open();
+            page.login("standard_user", "secret_sauce");
+            if (driverThreadLocal.get() != driver) {
+                throw new IllegalStateException("Test saw another test's driver on " + Thread.currentThread());
+            }
+        } finally {
+            driverThreadLocal.remove();
+            DriverContext.release(driver);
+        }
+    }
+}
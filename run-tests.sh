@@ -62,6 +62,7 @@ mkdir -p test-output/logs
 BROWSER="chrome"
 HEADLESS="false"
 SUITE="src/test/resources/testng.xml"
+SHARDS=1
 
 # Parse command line arguments
 while [[ $# -gt 0 ]]; do
@@ -78,12 +79,17 @@ while [[ $# -gt 0 ]]; do
             SUITE="$2"
             shift 2
             ;;
+        -n|--shards)
+            SHARDS="$2"
+            shift 2
+            ;;
         --help)
             echo "Usage: $0 [OPTIONS]"
             echo "Options:"
             echo "  -b, --browser <chrome|firefox|edge>  Browser to use (default: chrome)"
             echo "  -h, --headless                        Run in headless mode"
             echo "  -s, --suite <path>                    TestNG suite file path"
+            echo "  -n, --shards <count>                  Split the suite across this many local JVMs"
             echo "  --help                                Show this help message"
             exit 0
             ;;
@@ -98,13 +104,37 @@ print_status "Test Configuration:"
 print_status "  Browser: $BROWSER"
 print_status "  Headless: $HEADLESS"
 print_status "  Test Suite: $SUITE"
+print_status "  Shards: $SHARDS"
 
 # Run the tests
 print_status "Starting test execution..."
-mvn test -Dbrowser="$BROWSER" -Dheadless="$HEADLESS" -Dsurefire.suiteXmlFiles="$SUITE"
+if [ "$SHARDS" -le 1 ]; then
+    mvn test -Dbrowser="$BROWSER" -Dheadless="$HEADLESS" -Dsurefire.suiteXmlFiles="$SUITE"
+    RESULT=$?
+else
+    # Compile once, then run every shard against the same classes and duration history.
+    # With scheduler.auto.threads=true each shard sizes its threads from all cores, so lower
+    # scheduler.threads.per.core if they overload the machine
+    mvn -q test-compile || exit 1
+    rm -rf target/surefire-reports test-output/reports/shards test-history/runs
+    PIDS=()
+    for ((i = 0; i < SHARDS; i++)); do
+        mkdir -p test-output/logs
+        mvn -q surefire:test -Dbrowser="$BROWSER" -Dheadless="$HEADLESS" -Dsurefire.suiteXmlFiles="$SUITE" \
+            -Dshard.index=$i -Dshard.total="$SHARDS" \
+            -Dsurefire.reports.dir=target/surefire-reports/shard-$i > "test-output/logs/shard-$i.log" 2>&1 &
+        PIDS+=($!)
+    done
+    RESULT=0
+    for pid in "${PIDS[@]}"; do
+        wait "$pid" || RESULT=1
+    done
+    print_status "Merging shard reports and durations..."
+    mvn -q exec:java || RESULT=1
+fi
 
 # Check test execution result
-if [ $? -eq 0 ]; then
+if [ $RESULT -eq 0 ]; then
     print_status "All tests executed successfully!"
     print_status "Test reports available in: test-output/reports/"
     print_status "Screenshots (if any) available in: test-output/screenshots/"
@@ -1,70 +1,101 @@
 package com.selenium.pages;
 
 import com.selenium.utils.ConfigReader;
+import com.selenium.utils.DriverContext;
+import com.selenium.utils.ElementDescriptor;
+import com.selenium.utils.ElementStateQuery;
+import com.selenium.utils.PageState;
+import com.selenium.utils.StepMetrics;
+import com.selenium.utils.WaitCondition;
+import com.selenium.utils.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Base Page class containing common methods and properties
  */
 public class BasePage {
+    private static final String NAVIGATION_MARKER = "__pageNavigationPending";
+    private static final ClassValue<Optional<WaitCondition<WebElement>>> readyConditions =
+            new ClassValue<Optional<WaitCondition<WebElement>>>() {
+                @Override
+                protected Optional<WaitCondition<WebElement>> computeValue(Class<?> type) {
+                    return Optional.ofNullable(readyCondition(type.getAnnotation(PageReady.class), type));
+                }
+            };
+
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine wait;
+    private final String pageName = getClass().getSimpleName();
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
-        PageFactory.initElements(driver, this);
+        PageWaitMode waitMode = getClass().getAnnotation(PageWaitMode.class);
+        DriverContext context = DriverContext.of(driver);
+        this.wait = waitMode == null ? context.getWait() : context.getWait(waitMode.value());
+        PageObjectFactory.initElements(driver, this);
     }
 
     /**
      * Wait for element to be visible
      */
     protected void waitForElementToBeVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        wait.until(WaitCondition.visible(element));
     }
 
     /**
      * Wait for element to be clickable
      */
     protected void waitForElementToBeClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        wait.until(WaitCondition.clickable(element));
     }
 
     /**
      * Click on element with wait
      */
     protected void clickElement(WebElement element) {
+        long start = StepMetrics.startAction(pageName);
         waitForElementToBeClickable(element);
         element.click();
-        logger.info("Clicked on element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "click", start);
+        logger.debug("Clicked on element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Send text to element with wait
      */
     protected void sendKeys(WebElement element, String text) {
+        long start = StepMetrics.startAction(pageName);
         waitForElementToBeVisible(element);
         element.clear();
         element.sendKeys(text);
-        logger.info("Entered text '{}' in element: {}", text, element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "sendKeys", start);
+        logger.debug("Entered text '{}' in element: {}", text, ElementDescriptor.of(element));
     }
 
     /**
      * Get text from element with wait
      */
     protected String getText(WebElement element) {
+        long start = StepMetrics.startAction(pageName);
         waitForElementToBeVisible(element);
         String text = element.getText();
-        logger.info("Retrieved text '{}' from element: {}", text, element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "getText", start);
+        logger.debug("Retrieved text '{}' from element: {}", text, ElementDescriptor.of(element));
         return text;
     }
 
@@ -76,17 +107,139 @@ public class BasePage {
             waitForElementToBeVisible(element);
             return element.isDisplayed();
         } catch (Exception e) {
-            logger.warn("Element not displayed: {}", element.toString());
+            logger.warn("Element not displayed: {}", ElementDescriptor.of(element));
+            return false;
+        }
+    }
+
+    /**
+     * Check if element is displayed, giving up after the short absence timeout.
+     * Only for checks that expect the element not to be shown; use
+     * {@link #isElementDisplayed} when it is expected to appear.
+     */
+    protected boolean isElementDisplayedNow(WebElement element) {
+        return wait.isSatisfied("displayedNow", d -> {
+            try {
+                return element.isDisplayed();
+            } catch (NoSuchElementException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Query presence, visibility and text of several elements in one round-trip
+     */
+    protected PageState queryElements(WebElement... elements) {
+        return ElementStateQuery.query(driver, Collections.emptyList(), elements);
+    }
+
+    /**
+     * Query several elements in one round-trip, including the given attribute values
+     */
+    protected PageState queryElements(List<String> attributeNames, WebElement... elements) {
+        return ElementStateQuery.query(driver, attributeNames, elements);
+    }
+
+    /**
+     * Wait until a batched query of the elements satisfies the condition
+     */
+    protected boolean waitForPageState(Predicate<PageState> condition, WebElement... elements) {
+        try {
+            return wait.until(getClass().getSimpleName() + ".pageState", d -> {
+                try {
+                    return condition.test(queryElements(elements));
+                } catch (JavascriptException e) {
+                    // The document can be replaced mid-script while a navigation completes
+                    return false;
+                }
+            });
+        } catch (TimeoutException e) {
+            logger.warn("Page state not reached for {} elements", elements.length);
+            return false;
+        }
+    }
+
+    /**
+     * Check if all elements are displayed, polling with one round-trip per attempt
+     */
+    protected boolean areElementsDisplayed(WebElement... elements) {
+        return waitForPageState(PageState::allDisplayed, elements);
+    }
+
+    /**
+     * Load the URL and wait until this page is ready. With page.load.strategy eager or
+     * none that is as soon as the {@link PageReady} element is, not when every asset has loaded.
+     */
+    protected void navigateTo(String url) {
+        long start = StepMetrics.startAction(pageName);
+        // get() returns at once with none, while the previous document may still be showing
+        boolean marked = ConfigReader.getPageLoadStrategy() == PageLoadStrategy.NONE && markDocument();
+        driver.get(url);
+        if (marked) {
+            wait.until(pageName + ".navigated", d -> {
+                try {
+                    return ((JavascriptExecutor) d).executeScript("return window." + NAVIGATION_MARKER) == null;
+                } catch (JavascriptException e) {
+                    return false;
+                }
+            });
+        }
+        waitUntilReady();
+        StepMetrics.record(StepMetrics.ACTION, "navigate", start);
+        logger.debug("Navigated to {} and {} is ready", url, pageName);
+    }
+
+    /**
+     * Wait until the {@link PageReady} element of this page is in its state, or for
+     * pages without one until the document has been parsed
+     */
+    public void waitUntilReady() {
+        Optional<WaitCondition<WebElement>> ready = readyConditions.get(getClass());
+        if (ready.isPresent()) {
+            wait.until(ready.get());
+        } else {
+            wait.until(pageName + ".documentReady", d -> !"loading".equals(
+                    ((JavascriptExecutor) d).executeScript("return document.readyState")));
+        }
+    }
+
+    /**
+     * Tag the current document so a wait can tell when it has been replaced
+     */
+    private boolean markDocument() {
+        try {
+            ((JavascriptExecutor) driver).executeScript("window." + NAVIGATION_MARKER + " = true");
+            return true;
+        } catch (JavascriptException e) {
             return false;
         }
     }
 
+    private static WaitCondition<WebElement> readyCondition(PageReady ready, Class<?> type) {
+        if (ready == null) {
+            return null;
+        }
+        if (ready.id().isEmpty() == ready.css().isEmpty()) {
+            throw new IllegalStateException("@PageReady on " + type.getName() + " must set one of id or css");
+        }
+        By locator = ready.id().isEmpty() ? By.cssSelector(ready.css()) : By.id(ready.id());
+        switch (ready.state()) {
+            case PRESENT:
+                return WaitCondition.present(locator);
+            case CLICKABLE:
+                return WaitCondition.clickable(locator);
+            default:
+                return WaitCondition.visible(locator);
+        }
+    }
+
     /**
      * Get current page title
      */
     public String getPageTitle() {
         String title = driver.getTitle();
-        logger.info("Current page title: {}", title);
+        logger.debug("Current page title: {}", title);
         return title;
     }
 
@@ -95,7 +248,7 @@ public class BasePage {
      */
     public String getCurrentUrl() {
         String url = driver.getCurrentUrl();
-        logger.info("Current page URL: {}", url);
+        logger.debug("Current page URL: {}", url);
         return url;
     }
 }
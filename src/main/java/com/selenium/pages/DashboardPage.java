@@ -7,6 +7,7 @@ import org.openqa.selenium.support.FindBy;
 /**
  * Dashboard/Home Page Object Model class
  */
+@PageReady(css = ".inventory_list", state = PageReady.State.PRESENT)
 public class DashboardPage extends BasePage {
 
     // Page Elements
@@ -41,9 +42,8 @@ public class DashboardPage extends BasePage {
      * Check if dashboard page is loaded
      */
     public boolean isDashboardPageLoaded() {
-        return isElementDisplayed(appLogo) && 
-               isElementDisplayed(inventoryList) && 
-               getCurrentUrl().contains("inventory");
+        return waitForPageState(state -> state.allDisplayed() && state.getUrl().contains("inventory"),
+                appLogo, inventoryList);
     }
 
     /**
@@ -90,7 +90,7 @@ public class DashboardPage extends BasePage {
      * Check if inventory items are displayed
      */
     public boolean areInventoryItemsDisplayed() {
-        return isElementDisplayed(inventoryList) && isElementDisplayed(firstInventoryItem);
+        return areElementsDisplayed(inventoryList, firstInventoryItem);
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.selenium.pages;
 
+import com.selenium.utils.ConfigReader;
+import com.selenium.utils.SessionStateCache;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -7,6 +9,7 @@ import org.openqa.selenium.support.FindBy;
 /**
  * Login Page Object Model class
  */
+@PageReady(id = "login-button", state = PageReady.State.CLICKABLE)
 public class LoginPage extends BasePage {
 
     // Page Elements
@@ -34,6 +37,14 @@ public class LoginPage extends BasePage {
     }
 
     // Page Actions
+    /**
+     * Open the login page at app.url and wait until the login button can be clicked
+     */
+    public LoginPage open() {
+        navigateTo(ConfigReader.getUrl());
+        return this;
+    }
+
     /**
      * Enter username in the username field
      */
@@ -68,7 +79,37 @@ public class LoginPage extends BasePage {
     }
 
     /**
-     * Get error message text
+     * Log in by restoring the cached session of the user, falling back to the UI login
+     * and caching its session. Use {@link #login} in tests that exercise the login itself.
+     * @return the dashboard the user lands on
+     */
+    public DashboardPage loginWithSession(String username, String password) {
+        DashboardPage dashboardPage = PageObjectFactory.get(driver, DashboardPage.class);
+        if (!SessionStateCache.isEnabled()) {
+            login(username, password);
+            return dashboardPage;
+        }
+
+        if (SessionStateCache.restore(driver, username)) {
+            if (!SessionStateCache.isValidationEnabled() || dashboardPage.isDashboardPageLoaded()) {
+                logger.info("Restored cached session for username: {}", username);
+                return dashboardPage;
+            }
+            logger.info("Cached session for {} is no longer valid, logging in through the UI", username);
+            SessionStateCache.invalidate(username);
+            driver.manage().deleteAllCookies();
+            open();
+        }
+
+        login(username, password);
+        if (dashboardPage.isDashboardPageLoaded()) {
+            SessionStateCache.capture(driver, username);
+        }
+        return dashboardPage;
+    }
+
+    /**
+     * Get error message text, waiting for the error to appear
      */
     public String getErrorMessage() {
         if (isElementDisplayed(errorMessage)) {
@@ -78,12 +119,19 @@ public class LoginPage extends BasePage {
     }
 
     /**
-     * Check if error message is displayed
+     * Check if error message is displayed, waiting for it to appear
      */
     public boolean isErrorMessageDisplayed() {
         return isElementDisplayed(errorMessage);
     }
 
+    /**
+     * Check that no error message is displayed, giving up on it after the short absence timeout
+     */
+    public boolean isErrorMessageAbsent() {
+        return !isElementDisplayedNow(errorMessage);
+    }
+
     /**
      * Check if login logo is displayed
      */
@@ -95,9 +143,7 @@ public class LoginPage extends BasePage {
      * Check if login page is loaded
      */
     public boolean isLoginPageLoaded() {
-        return isElementDisplayed(usernameField) && 
-               isElementDisplayed(passwordField) && 
-               isElementDisplayed(loginButton);
+        return areElementsDisplayed(usernameField, passwordField, loginButton);
     }
 
     /**
@@ -106,7 +152,7 @@ public class LoginPage extends BasePage {
     public void clearLoginForm() {
         usernameField.clear();
         passwordField.clear();
-        logger.info("Login form cleared");
+        logger.debug("Login form cleared");
     }
 
     /**
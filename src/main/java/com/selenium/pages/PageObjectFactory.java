@@ -0,0 +1,201 @@
+package com.selenium.pages;
+
+import com.selenium.utils.DriverContext;
+import com.selenium.utils.LocatedElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page object factory that replaces PageFactory.initElements with per-class
+ * cached field and locator metadata, and can share page instances per driver session
+ */
+public final class PageObjectFactory {
+    private static final Class<?>[] ELEMENT_INTERFACES = {
+            WebElement.class, WrapsElement.class, Locatable.class, LocatedElement.class
+    };
+    private static final Method GET_LOCATOR;
+
+    static {
+        try {
+            GET_LOCATOR = LocatedElement.class.getMethod("getLocator");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<List<ElementField>> elementFields = new ClassValue<List<ElementField>>() {
+        @Override
+        protected List<ElementField> computeValue(Class<?> type) {
+            return scanFields(type);
+        }
+    };
+
+    private static final ClassValue<Constructor<?>> pageConstructors = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor(WebDriver.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(type.getName() + " has no public (WebDriver) constructor", e);
+            }
+        }
+    };
+
+    private PageObjectFactory() {
+    }
+
+    /**
+     * Get the page of the given type for the driver session, constructing it only once per session
+     */
+    public static <T extends BasePage> T get(WebDriver driver, Class<T> pageClass) {
+        return DriverContext.of(driver).getPage(pageClass, sessionDriver -> newPage(sessionDriver, pageClass));
+    }
+
+    /**
+     * Construct a new page instance
+     */
+    public static <T extends BasePage> T newPage(WebDriver driver, Class<T> pageClass) {
+        try {
+            return pageClass.cast(pageConstructors.get(pageClass).newInstance(driver));
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new RuntimeException("Failed to create page " + pageClass.getSimpleName(), cause);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to create page " + pageClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Populate the @FindBy fields of the page with lazily locating proxies
+     */
+    public static void initElements(WebDriver driver, Object page) {
+        for (ElementField elementField : elementFields.get(page.getClass())) {
+            ElementLocator locator = new DefaultElementLocator(driver, elementField.annotations);
+            Object proxy = elementField.list
+                    ? Proxy.newProxyInstance(elementField.classLoader, new Class<?>[]{List.class},
+                            new LocatingElementListHandler(locator))
+                    : Proxy.newProxyInstance(elementField.classLoader, ELEMENT_INTERFACES,
+                            new LocatedElementHandler(locator, elementField.annotations.by));
+            try {
+                elementField.field.set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Failed to initialise element " + elementField.field.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Collect the decoratable fields of the class hierarchy, mirroring DefaultFieldDecorator
+     */
+    private static List<ElementField> scanFields(Class<?> type) {
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                boolean element = WebElement.class.equals(field.getType());
+                boolean list = isElementList(field);
+                if (!element && !list) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(new ElementField(field, list, new CachedAnnotations(new Annotations(field))));
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static boolean isElementList(Field field) {
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        Type generic = field.getGenericType();
+        if (!(generic instanceof ParameterizedType)
+                || !WebElement.class.equals(((ParameterizedType) generic).getActualTypeArguments()[0])) {
+            return false;
+        }
+        return field.getAnnotation(FindBy.class) != null || field.getAnnotation(FindBys.class) != null
+                || field.getAnnotation(FindAll.class) != null;
+    }
+
+    private static class ElementField {
+        private final Field field;
+        private final boolean list;
+        private final CachedAnnotations annotations;
+        private final ClassLoader classLoader;
+
+        private ElementField(Field field, boolean list, CachedAnnotations annotations) {
+            this.field = field;
+            this.list = list;
+            this.annotations = annotations;
+            this.classLoader = field.getDeclaringClass().getClassLoader();
+        }
+    }
+
+    /**
+     * Annotations parsed once per field and shared by every page instance
+     */
+    private static class CachedAnnotations extends AbstractAnnotations {
+        private final By by;
+        private final boolean lookupCached;
+
+        private CachedAnnotations(Annotations annotations) {
+            this.by = annotations.buildBy();
+            this.lookupCached = annotations.isLookupCached();
+        }
+
+        @Override
+        public By buildBy() {
+            return by;
+        }
+
+        @Override
+        public boolean isLookupCached() {
+            return lookupCached;
+        }
+    }
+
+    /**
+     * Element handler that answers getLocator() itself and locates the element for everything else
+     */
+    private static class LocatedElementHandler implements InvocationHandler {
+        private final InvocationHandler delegate;
+        private final By by;
+
+        private LocatedElementHandler(ElementLocator locator, By by) {
+            this.delegate = new LocatingElementHandler(locator);
+            this.by = by;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (GET_LOCATOR.equals(method)) {
+                return by;
+            }
+            return delegate.invoke(proxy, method, args);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.selenium.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the element that shows a page object's page is usable. Navigation
+ * helpers wait for it instead of the load event, so with page.load.strategy eager
+ * or none a test starts as soon as the page can be used. Set one of id or css.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageReady {
+    String id() default "";
+
+    String css() default "";
+
+    State state() default State.VISIBLE;
+
+    enum State {
+        PRESENT,
+        VISIBLE,
+        CLICKABLE
+    }
+}
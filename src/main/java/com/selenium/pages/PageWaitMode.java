@@ -0,0 +1,19 @@
+package com.selenium.pages;
+
+import com.selenium.utils.WaitEngine;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the configured wait.mode for the waits of one page object
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageWaitMode {
+    WaitEngine.Mode value();
+}
@@ -0,0 +1,182 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Locale;
+
+/**
+ * Named sets of browser launch options, selected with browser.profile. Measure them
+ * on the machine that runs the pipeline with BrowserStartupBenchmark in the
+ * benchmarks module; startup time and memory depend on the browser build and host.
+ */
+public enum BrowserProfile {
+    /** The options used before profiles existed: a few container flags and a maximized window */
+    DEFAULT("default", null, false, PageLoadStrategy.NORMAL),
+    /** Headless with everything a test does not need switched off, returning once the DOM is ready */
+    FAST_HEADLESS("fast-headless", new Dimension(1280, 800), true, PageLoadStrategy.EAGER),
+    /** Fast-headless with fewer renderer processes and smaller caches, for many sessions per host */
+    LOW_MEMORY("low-memory", new Dimension(1024, 768), true, PageLoadStrategy.EAGER),
+    /** Closest to a user's browser: full HD window, GPU, complete page loads, headed unless headless=true */
+    FIDELITY("fidelity", new Dimension(1920, 1080), false, PageLoadStrategy.NORMAL);
+
+    private final String name;
+    private final Dimension windowSize;
+    private final boolean alwaysHeadless;
+    private final PageLoadStrategy pageLoadStrategy;
+
+    BrowserProfile(String name, Dimension windowSize, boolean alwaysHeadless, PageLoadStrategy pageLoadStrategy) {
+        this.name = name;
+        this.windowSize = windowSize;
+        this.alwaysHeadless = alwaysHeadless;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    public static BrowserProfile parse(String value) {
+        String name = value.trim().toLowerCase(Locale.ROOT);
+        for (BrowserProfile profile : values()) {
+            if (profile.name.equals(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("browser.profile must be one of default, fast-headless, low-memory"
+                + " or fidelity but was '" + value + "'");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the window size the browser starts with, or null if the window is maximized after start
+     */
+    public Dimension getWindowSize() {
+        return windowSize;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    /**
+     * Check if the browser runs headless, given the headless setting
+     */
+    public boolean isHeadless(boolean headless) {
+        return alwaysHeadless || headless;
+    }
+
+    /**
+     * Build the launch options of this profile for the browser
+     */
+    public MutableCapabilities options(String browser, boolean headless) {
+        boolean runHeadless = isHeadless(headless);
+        MutableCapabilities options;
+        switch (browser) {
+            case "chrome":
+                options = chromium(new ChromeOptions(), runHeadless);
+                break;
+            case "edge":
+                options = chromium(new EdgeOptions(), runHeadless);
+                break;
+            case "firefox":
+                options = firefox(new FirefoxOptions(), runHeadless);
+                break;
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+        if (this != DEFAULT) {
+            options.setCapability("pageLoadStrategy", pageLoadStrategy.toString());
+        }
+        return options;
+    }
+
+    private <T extends ChromiumOptions<T>> T chromium(T options, boolean headless) {
+        if (this == DEFAULT) {
+            if (headless) {
+                options.addArguments("--headless");
+            }
+            if (options instanceof ChromeOptions) {
+                options.addArguments("--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu",
+                        "--window-size=1920,1080");
+            }
+            return options;
+        }
+
+        // Needed in containers, harmless elsewhere
+        options.addArguments("--no-sandbox", "--disable-dev-shm-usage");
+        options.addArguments("--window-size=" + windowSize.getWidth() + "," + windowSize.getHeight());
+        options.addArguments("--no-first-run", "--no-default-browser-check", "--disable-search-engine-choice-screen");
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (this == FIDELITY) {
+            return options;
+        }
+
+        options.addArguments("--disable-extensions", "--disable-component-extensions-with-background-pages",
+                "--disable-background-networking", "--disable-sync", "--disable-component-update",
+                "--disable-default-apps", "--disable-client-side-phishing-detection", "--disable-domain-reliability",
+                "--disable-breakpad", "--metrics-recording-only", "--mute-audio", "--disable-gpu",
+                "--disable-features=Translate,OptimizationHints,MediaRouter,AutofillServerCommunication");
+        if (this == LOW_MEMORY) {
+            // One renderer for all sites instead of one per site, and small in-memory caches
+            options.addArguments("--renderer-process-limit=1", "--disable-site-isolation-trials",
+                    "--disk-cache-size=1", "--media-cache-size=1", "--js-flags=--max-old-space-size=256");
+        }
+        return options;
+    }
+
+    private FirefoxOptions firefox(FirefoxOptions options, boolean headless) {
+        if (headless) {
+            options.addArguments("--headless");
+        }
+        if (this == DEFAULT) {
+            return options;
+        }
+
+        options.addArguments("--width=" + windowSize.getWidth(), "--height=" + windowSize.getHeight());
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("browser.startup.homepage_override.mstone", "ignore");
+        options.addPreference("startup.homepage_welcome_url", "about:blank");
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        if (this == FIDELITY) {
+            return options;
+        }
+
+        options.addPreference("app.update.auto", false);
+        options.addPreference("app.update.enabled", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("extensions.getAddons.cache.enabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("toolkit.telemetry.unified", false);
+        options.addPreference("datareporting.healthreport.uploadEnabled", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("browser.safebrowsing.downloads.enabled", false);
+        options.addPreference("browser.ping-centre.telemetry", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("network.http.speculative-parallel-limit", 0);
+        options.addPreference("browser.newtabpage.enabled", false);
+        options.addPreference("media.autoplay.default", 5);
+        if (this == LOW_MEMORY) {
+            // One content process and no cached pages for back and forward
+            options.addPreference("dom.ipc.processCount", 1);
+            options.addPreference("fission.autostart", false);
+            options.addPreference("browser.sessionhistory.max_total_viewers", 0);
+            options.addPreference("browser.cache.memory.capacity", 16384);
+            options.addPreference("browser.cache.disk.enable", false);
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,80 +1,154 @@
 package com.selenium.utils;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.time.Duration;
 
 /**
- * Utility class for reading configuration properties
+ * Utility class for reading configuration properties.
+ * Delegates to an immutable {@link FrameworkConfig} snapshot built once at class load.
  */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static final FrameworkConfig config = FrameworkConfig.load();
+
+    /**
+     * Get the resolved configuration snapshot
+     */
+    public static FrameworkConfig getConfig() {
+        return config;
+    }
 
-    static {
-        loadProperties();
+    public static String getProperty(String key) {
+        return config.get(key);
     }
 
-    private static void loadProperties() {
+    public static String getProperty(String key, String defaultValue) {
+        return config.get(key, defaultValue);
+    }
+
+    /**
+     * Read an integer key that has no typed getter. Keys the framework itself uses are
+     * parsed and validated once in {@link FrameworkConfig}; use its getters for those.
+     * @throws IllegalStateException if the value is not an integer
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
         try {
-            properties = new Properties();
-            FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fis);
-            fis.close();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration properties: " + e.getMessage());
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(key + " must be an integer but was '" + value + "'", e);
         }
     }
 
-    public static String getProperty(String key) {
-        return properties.getProperty(key);
+    /**
+     * Read a boolean key that has no typed getter, see {@link #getIntProperty}
+     * @throws IllegalStateException if the value is not true or false
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        if (!value.trim().equalsIgnoreCase("true") && !value.trim().equalsIgnoreCase("false")) {
+            throw new IllegalStateException(key + " must be true or false but was '" + value + "'");
+        }
+        return Boolean.parseBoolean(value.trim());
     }
 
+    /**
+     * Get the application URL, which is the local stand-in app when app.mode=local
+     */
     public static String getUrl() {
-        return getProperty("app.url");
+        return config.isLocalApp() ? LocalAppServer.getUrl() : config.getUrl();
+    }
+
+    public static boolean isLocalApp() {
+        return config.isLocalApp();
     }
 
     public static String getBrowser() {
-        return getProperty("browser");
+        return config.getBrowser();
+    }
+
+    public static boolean isRemoteDriver() {
+        return config.isRemoteDriver();
+    }
+
+    /**
+     * Get the grid URL, which is the local stand-in hub when grid.url=local
+     */
+    public static String getGridUrl() {
+        return config.isLocalGrid() ? LocalGridServer.getUrl() : config.getGridUrl();
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless"));
+        return config.isHeadless();
     }
 
-    public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait"));
+    public static BrowserProfile getBrowserProfile() {
+        return config.getBrowserProfile();
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait"));
+        return config.getExplicitWaitSeconds();
     }
 
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(getProperty("page.load.timeout"));
+        return config.getPageLoadTimeoutSeconds();
+    }
+
+    /**
+     * Get the page load strategy drivers are created with: page.load.strategy, else the browser profile's
+     */
+    public static PageLoadStrategy getPageLoadStrategy() {
+        PageLoadStrategy strategy = config.getPageLoadStrategy();
+        return strategy != null ? strategy : config.getBrowserProfile().getPageLoadStrategy();
+    }
+
+    public static Duration getExplicitWaitDuration() {
+        return config.getExplicitWait();
+    }
+
+    public static Duration getPageLoadTimeoutDuration() {
+        return config.getPageLoadTimeout();
     }
 
     public static String getValidUsername() {
-        return getProperty("valid.username");
+        return config.getValidUsername();
     }
 
     public static String getValidPassword() {
-        return getProperty("valid.password");
+        return config.getValidPassword();
     }
 
     public static String getInvalidUsername() {
-        return getProperty("invalid.username");
+        return config.getInvalidUsername();
     }
 
     public static String getInvalidPassword() {
-        return getProperty("invalid.password");
+        return config.getInvalidPassword();
+    }
+
+    public static int getDriverPoolSize() {
+        return config.getDriverPoolSize();
+    }
+
+    public static int getDriverPoolMaxUses() {
+        return config.getDriverPoolMaxUses();
+    }
+
+    public static int getDriverPoolLeaseTimeout() {
+        return config.getDriverPoolLeaseTimeoutSeconds();
     }
 
     public static String getScreenshotsPath() {
-        return getProperty("screenshots.path");
+        return config.getScreenshotsPath();
     }
 
     public static String getReportsPath() {
-        return getProperty("reports.path");
+        return config.getReportsPath();
     }
 }
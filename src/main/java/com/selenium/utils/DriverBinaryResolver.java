@@ -0,0 +1,200 @@
+package com.selenium.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves browser driver binaries once per JVM and shares the result with
+ * later JVMs through an on-disk manifest
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final Map<String, ResolvedBinary> resolved = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Make sure the driver binary for the given browser is resolved and registered
+     * through its webdriver.*.driver system property
+     */
+    public static void resolve(String browser) {
+        ResolvedBinary binary = resolved.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+        if (binary.hits.getAndIncrement() > 0) {
+            logger.debug("Reusing resolved {} driver: {}", browser, binary.path);
+        }
+    }
+
+    /**
+     * Log how much setup time the cached resolution saved
+     */
+    public static void logSummary() {
+        resolved.forEach((browser, binary) -> {
+            long reuses = Math.max(0, binary.hits.get() - 1);
+            logger.info("{} driver {} resolved from {} in {} ms; saved ~{} ms per test setup "
+                            + "and ~{} ms across {} later driver launches",
+                    browser, binary.version, binary.source,
+                    TimeUnit.NANOSECONDS.toMillis(binary.elapsedNanos),
+                    binary.lookupMillis, reuses * binary.lookupMillis, reuses);
+        });
+    }
+
+    private static ResolvedBinary resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String property = systemPropertyFor(browser);
+        FrameworkConfig config = ConfigReader.getConfig();
+
+        // Offline mode uses a pre-provisioned binary and never touches the network
+        if (config.isDriverOffline()) {
+            String path = config.getDriverBinary(browser);
+            if (path == null || !Files.isExecutable(Paths.get(path))) {
+                throw new RuntimeException("Offline mode requires an executable driver.binary." + browser
+                        + " but got: " + path);
+            }
+            System.setProperty(property, path);
+            return new ResolvedBinary(path, "pre-provisioned", "offline", System.nanoTime() - start, 0);
+        }
+
+        Path manifestPath = config.getDriverManifestPath();
+        try {
+            if (manifestPath.getParent() != null) {
+                Files.createDirectories(manifestPath.getParent());
+            }
+            // Lock the manifest so forked JVMs resolve at most once between them
+            try (FileChannel channel = FileChannel.open(manifestPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.lock();
+                Properties manifest = readManifest(channel);
+                String cachedPath = manifest.getProperty(browser + ".path");
+                // A browser update needs a new driver, so only reuse one resolved for the same major version
+                String browserVersion = detectBrowserMajorVersion(browser);
+                String cachedBrowserVersion = manifest.getProperty(browser + ".browser.version", "");
+                if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))
+                        && cachedBrowserVersion.equals(browserVersion)) {
+                    System.setProperty(property, cachedPath);
+                    long lookupMillis = Long.parseLong(manifest.getProperty(browser + ".lookup.millis", "0"));
+                    return new ResolvedBinary(cachedPath, manifest.getProperty(browser + ".version"),
+                            "manifest", System.nanoTime() - start, lookupMillis);
+                }
+                if (cachedPath != null && !cachedBrowserVersion.equals(browserVersion)) {
+                    logger.info("{} browser changed from version {} to {}, resolving its driver again", browser,
+                            cachedBrowserVersion.isEmpty() ? "unknown" : cachedBrowserVersion,
+                            browserVersion.isEmpty() ? "unknown" : browserVersion);
+                }
+
+                WebDriverManager manager = managerFor(browser);
+                manager.setup();
+                long elapsed = System.nanoTime() - start;
+                String path = manager.getDownloadedDriverPath();
+                String version = manager.getDownloadedDriverVersion();
+                long lookupMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+
+                manifest.setProperty(browser + ".path", path);
+                manifest.setProperty(browser + ".version", String.valueOf(version));
+                manifest.setProperty(browser + ".browser.version", browserVersion);
+                manifest.setProperty(browser + ".lookup.millis", String.valueOf(lookupMillis));
+                writeManifest(channel, manifest);
+                return new ResolvedBinary(path, version, "webdrivermanager", elapsed, lookupMillis);
+            }
+        } catch (IOException e) {
+            logger.warn("Driver manifest unavailable ({}), resolving without it", e.getMessage());
+            WebDriverManager manager = managerFor(browser);
+            manager.setup();
+            long elapsed = System.nanoTime() - start;
+            return new ResolvedBinary(manager.getDownloadedDriverPath(), manager.getDownloadedDriverVersion(),
+                    "webdrivermanager", elapsed, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * Ask the installed browser for its major version, which its driver has to match
+     * @return The major version, or an empty string when the browser cannot be found
+     */
+    private static String detectBrowserMajorVersion(String browser) {
+        try {
+            return new VersionDetector(new Config(), null).getBrowserVersionFromTheShell(browser)
+                    .map(VersionDetector::getMajorVersion)
+                    .orElse("");
+        } catch (RuntimeException e) {
+            logger.debug("Failed to detect the {} browser version: {}", browser, e.getMessage());
+            return "";
+        }
+    }
+
+    private static Properties readManifest(FileChannel channel) throws IOException {
+        Properties manifest = new Properties();
+        channel.position(0);
+        InputStream in = Channels.newInputStream(channel);
+        manifest.load(in);
+        return manifest;
+    }
+
+    private static void writeManifest(FileChannel channel, Properties manifest) throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        OutputStream out = Channels.newOutputStream(channel);
+        manifest.store(out, "Resolved WebDriver binaries");
+        out.flush();
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static String systemPropertyFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static class ResolvedBinary {
+        private final String path;
+        private final String version;
+        private final String source;
+        private final long elapsedNanos;
+        private final long lookupMillis;
+        private final AtomicLong hits = new AtomicLong();
+
+        private ResolvedBinary(String path, String version, String source, long elapsedNanos, long lookupMillis) {
+            this.path = path;
+            this.version = version;
+            this.source = source;
+            this.elapsedNanos = elapsedNanos;
+            this.lookupMillis = lookupMillis;
+        }
+    }
+}
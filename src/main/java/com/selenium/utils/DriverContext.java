@@ -0,0 +1,88 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * State shared by everything that works against one driver session, such as
+ * its wait engine and page objects. Released when the session is quit.
+ */
+public class DriverContext {
+    private static final Map<WebDriver, DriverContext> contexts = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final WaitEngine wait;
+    private final Map<WaitEngine.Mode, WaitEngine> waitsByMode = new EnumMap<>(WaitEngine.Mode.class);
+    private final Map<Class<?>, Object> pages = new ConcurrentHashMap<>();
+    private volatile ResourceBlocker resourceBlocker;
+
+    private DriverContext(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new WaitEngine(driver);
+        for (WaitEngine.Mode mode : WaitEngine.Mode.values()) {
+            waitsByMode.put(mode, wait.withMode(mode));
+        }
+    }
+
+    /**
+     * Get the context of a driver session, creating it on first use
+     */
+    public static DriverContext of(WebDriver driver) {
+        return contexts.computeIfAbsent(driver, DriverContext::new);
+    }
+
+    /**
+     * Drop the context of a driver session that is being quit
+     */
+    public static void release(WebDriver driver) {
+        DriverContext context = contexts.remove(driver);
+        if (context != null && context.resourceBlocker != null) {
+            context.resourceBlocker.close();
+        }
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Get the wait engine in the globally configured wait.mode
+     */
+    public WaitEngine getWait() {
+        return wait;
+    }
+
+    /**
+     * Get a wait engine in the given mode, sharing state with the default one
+     */
+    public WaitEngine getWait(WaitEngine.Mode mode) {
+        return waitsByMode.get(mode);
+    }
+
+    /**
+     * Get the resource blocker of this session, or null if resources are not filtered
+     */
+    public ResourceBlocker getResourceBlocker() {
+        return resourceBlocker;
+    }
+
+    public void setResourceBlocker(ResourceBlocker resourceBlocker) {
+        this.resourceBlocker = resourceBlocker;
+    }
+
+    /**
+     * Get the page object of the given type for this session, creating it once
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPage(Class<T> type, Function<WebDriver, T> factory) {
+        Object page = pages.get(type);
+        if (page == null) {
+            page = pages.computeIfAbsent(type, key -> factory.apply(driver));
+        }
+        return (T) page;
+    }
+}
@@ -1,13 +1,17 @@
 package com.selenium.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -19,61 +23,114 @@ import java.time.Duration;
 public class DriverFactory {
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static volatile DriverPool driverPool;
 
     /**
-     * Initialize WebDriver based on browser configuration
+     * Configure the driver pool, sizing it from the TestNG thread-count unless
+     * driver.pool.size is set explicitly, and to no more than the grid sessions in remote mode
+     */
+    public static synchronized void configurePool(int threadCount) {
+        if (driverPool != null) {
+            return;
+        }
+        int configuredSize = ConfigReader.getDriverPoolSize();
+        int size = configuredSize > 0 ? configuredSize : Math.max(1, threadCount);
+        if (ConfigReader.isRemoteDriver()) {
+            // Leases beyond the grid's share queue in the pool, where they can pick up warm
+            // sessions, rather than for a slot that idle pooled sessions are holding
+            int gridSessions = GridClient.get().getCapacity();
+            if (gridSessions > 0 && size > gridSessions) {
+                logger.info("Driver pool size {} capped to {} grid sessions", size, gridSessions);
+                size = gridSessions;
+            }
+        }
+        driverPool = new DriverPool(size, ConfigReader.getDriverPoolMaxUses(),
+                Duration.ofSeconds(ConfigReader.getDriverPoolLeaseTimeout()), DriverFactory::createDriver);
+        logger.info("Driver pool configured with size {}", size);
+    }
+
+    /**
+     * Lease a driver from the pool for the current thread
      */
     public static void initializeDriver() {
-        String browser = ConfigReader.getBrowser().toLowerCase();
-        boolean headless = ConfigReader.isHeadless();
-
-        logger.info("Initializing {} driver in {} mode", browser, headless ? "headless" : "normal");
-
-        WebDriver driver = null;
-
-        switch (browser) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (headless) {
-                    chromeOptions.addArguments("--headless");
-                }
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--disable-gpu");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                driver = new ChromeDriver(chromeOptions);
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (headless) {
-                    firefoxOptions.addArguments("--headless");
-                }
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (headless) {
-                    edgeOptions.addArguments("--headless");
-                }
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            default:
-                throw new IllegalArgumentException("Browser not supported: " + browser);
+        if (driverPool == null) {
+            configurePool(1);
+        }
+        driverThreadLocal.set(driverPool.lease());
+    }
+
+    /**
+     * Create a pooled driver with the configured browser profile
+     */
+    private static WebDriver createDriver() {
+        return createDriver(ConfigReader.getBrowserProfile());
+    }
+
+    /**
+     * Create a new WebDriver outside the pool with the given launch options profile,
+     * on the grid when driver.mode=remote. The caller quits it.
+     */
+    public static WebDriver createDriver(BrowserProfile profile) {
+        String browser = ConfigReader.getBrowser();
+        boolean headless = profile.isHeadless(ConfigReader.isHeadless());
+        MutableCapabilities options = profile.options(browser, headless);
+        PageLoadStrategy pageLoadStrategy = ConfigReader.getConfig().getPageLoadStrategy();
+        if (pageLoadStrategy != null) {
+            options.setCapability(CapabilityType.PAGE_LOAD_STRATEGY, pageLoadStrategy.toString());
         }
 
-        // Set timeouts
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
-        driver.manage().window().maximize();
+        WebDriver driver;
+        if (ConfigReader.isRemoteDriver()) {
+            logger.info("Requesting {} session from grid in {} mode with profile {}", browser,
+                    headless ? "headless" : "normal", profile);
+            driver = GridClient.get().newSession(options);
+        } else {
+            logger.info("Initializing {} driver in {} mode with profile {}", browser,
+                    headless ? "headless" : "normal", profile);
+            DriverBinaryResolver.resolve(browser);
+            if (options instanceof ChromeOptions) {
+                driver = new ChromeDriver((ChromeOptions) options);
+            } else if (options instanceof FirefoxOptions) {
+                driver = new FirefoxDriver((FirefoxOptions) options);
+            } else {
+                driver = new EdgeDriver((EdgeOptions) options);
+            }
+        }
+
+        ResourceBlocker resourceBlocker;
+        try {
+            // Set timeouts
+            // Implicit waits stay off; WaitEngine owns all waiting
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            driver.manage().timeouts().pageLoadTimeout(ConfigReader.getPageLoadTimeoutDuration());
+            // Mutation waits run as one async script for up to the explicit wait
+            driver.manage().timeouts().scriptTimeout(ConfigReader.getExplicitWaitDuration().plusSeconds(5));
+            // Profiles start at a fixed size, which saves a round trip and keeps layouts the same on every host
+            if (profile.getWindowSize() == null) {
+                driver.manage().window().maximize();
+            }
+            resourceBlocker = ResourceBlocker.attach(driver);
+        } catch (RuntimeException e) {
+            // Give the browser, or the grid slot, back before failing the lease
+            driver.quit();
+            throw e;
+        }
 
-        driverThreadLocal.set(driver);
         logger.info("Driver initialized successfully");
+        if (StepMetrics.isEnabled()) {
+            driver = new EventFiringDecorator<>(new StepTimingListener()).decorate(driver);
+        }
+        if (resourceBlocker != null) {
+            DriverContext.of(driver).setResourceBlocker(resourceBlocker);
+        }
+        return driver;
+    }
+
+    /**
+     * Get the W3C browserName of the configured browser, as grid slots are labelled
+     */
+    static String getBrowserName() {
+        return BrowserProfile.DEFAULT.options(ConfigReader.getBrowser(), false).getBrowserName();
     }
 
     /**
@@ -84,14 +141,65 @@ public class DriverFactory {
     }
 
     /**
-     * Quit the WebDriver and clean up
+     * Return the current thread's WebDriver to the pool, or quit it when the pool is already shut down
      */
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
-            logger.info("Quitting driver");
-            driver.quit();
             driverThreadLocal.remove();
+            DriverPool pool = driverPool;
+            if (pool != null) {
+                logger.info("Returning driver to pool");
+                pool.release(driver);
+            } else {
+                logger.info("Driver pool is shut down, quitting driver");
+                quitUnpooled(driver);
+            }
+        }
+    }
+
+    /**
+     * Quit the current thread's WebDriver instead of returning it to the pool, for sessions
+     * a failed test may have left in a bad state
+     */
+    public static void discard(String reason) {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null) {
+            driverThreadLocal.remove();
+            DriverPool pool = driverPool;
+            if (pool != null) {
+                logger.info("Discarding driver: {}", reason);
+                pool.discard(driver, reason);
+            } else {
+                quitUnpooled(driver);
+            }
         }
     }
+
+    private static void quitUnpooled(WebDriver driver) {
+        DriverContext.release(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Quit every pooled driver and log pool metrics
+     */
+    public static synchronized void shutdownPool() {
+        if (driverPool != null) {
+            driverPool.close();
+            driverPool = null;
+        }
+    }
+
+    /**
+     * Get the metrics of the active driver pool, or null when no pool is configured
+     */
+    public static DriverPoolMetrics getPoolMetrics() {
+        DriverPool pool = driverPool;
+        return pool == null ? null : pool.getMetrics();
+    }
 }
@@ -0,0 +1,209 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions that are leased to tests and reset on return
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+    private final Supplier<WebDriver> driverSupplier;
+    private final Semaphore capacity;
+    private final BlockingQueue<PooledDriver> idle;
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private final DriverPoolMetrics metrics = new DriverPoolMetrics();
+    private volatile boolean closed;
+
+    public DriverPool(int maxSize, int maxUses, Duration leaseTimeout, Supplier<WebDriver> driverSupplier) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeout = leaseTimeout;
+        this.driverSupplier = driverSupplier;
+        this.capacity = new Semaphore(maxSize, true);
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Lease a driver, reusing a warm session when one is idle
+     */
+    public WebDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!capacity.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + leaseTimeout.getSeconds()
+                        + "s waiting for a driver from the pool (size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a driver from the pool", e);
+        }
+
+        PooledDriver pooled = idle.poll();
+        boolean reused = pooled != null;
+        try {
+            if (pooled == null) {
+                pooled = new PooledDriver(driverSupplier.get());
+            }
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        pooled.uses++;
+        leased.put(pooled.driver, pooled);
+        metrics.recordLease(System.nanoTime() - start, reused);
+        logger.debug("Leased driver (use {} of {}, reused: {})", pooled.uses, maxUses, reused);
+        return pooled.driver;
+    }
+
+    /**
+     * Return a leased driver, resetting its state or evicting it
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            logger.warn("Released driver does not belong to the pool, quitting it");
+            quietlyQuit(driver);
+            return;
+        }
+        try {
+            String evictionReason = null;
+            if (closed) {
+                evictionReason = "pool closed";
+            } else if (pooled.uses >= maxUses) {
+                evictionReason = "max uses reached";
+            } else if (!resetState(driver)) {
+                evictionReason = "reset failed";
+            } else if (!isHealthy(driver)) {
+                evictionReason = "health check failed";
+            }
+
+            if (evictionReason != null) {
+                evict(pooled, evictionReason);
+            } else if (!idle.offer(pooled)) {
+                evict(pooled, "pool full");
+            }
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Evict a leased driver without trying to reuse it
+     */
+    public void discard(WebDriver driver, String reason) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            quietlyQuit(driver);
+            return;
+        }
+        try {
+            evict(pooled, reason);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Quit all idle drivers and refuse further leases
+     */
+    public void close() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idle.poll()) != null) {
+            evict(pooled, "pool closed");
+        }
+        logger.info("Driver pool closed: {}", metrics);
+    }
+
+    public DriverPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Clear cookies, storage and extra windows, then park the session on a blank page
+     */
+    private boolean resetState(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.size() > 1) {
+                String keep = handles.iterator().next();
+                for (String handle : handles) {
+                    if (!handle.equals(keep)) {
+                        driver.switchTo().window(handle);
+                        driver.close();
+                    }
+                }
+                driver.switchTo().window(keep);
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset driver state: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return driver.getWindowHandle() != null && BLANK_PAGE.equals(driver.getCurrentUrl());
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void evict(PooledDriver pooled, String reason) {
+        metrics.recordEviction(reason);
+        logger.info("Evicting driver after {} uses: {}", pooled.uses, reason);
+        DriverContext.release(pooled.driver);
+        quietlyQuit(pooled.driver);
+    }
+
+    private void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit driver: {}", e.getMessage());
+        }
+    }
+
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
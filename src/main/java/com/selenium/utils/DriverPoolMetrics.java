@@ -0,0 +1,72 @@
+package com.selenium.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how the driver pool is being used
+ */
+public class DriverPoolMetrics {
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0L);
+    private final Map<String, LongAdder> evictions = new ConcurrentHashMap<>();
+
+    void recordLease(long waitNanos, boolean reused) {
+        leases.increment();
+        leaseWaitNanos.add(waitNanos);
+        maxLeaseWaitNanos.accumulate(waitNanos);
+        if (reused) {
+            reuses.increment();
+        } else {
+            creations.increment();
+        }
+    }
+
+    void recordEviction(String reason) {
+        evictions.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    public long getLeaseCount() {
+        return leases.sum();
+    }
+
+    public long getReuseCount() {
+        return reuses.sum();
+    }
+
+    public long getCreationCount() {
+        return creations.sum();
+    }
+
+    public long getAverageLeaseWaitMillis() {
+        long count = leases.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.sum() / count);
+    }
+
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get());
+    }
+
+    /**
+     * Get eviction counts keyed by reason
+     */
+    public Map<String, Long> getEvictions() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        evictions.forEach((reason, count) -> snapshot.put(reason, count.sum()));
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("leases=%d, reused=%d, created=%d, avgLeaseWait=%dms, maxLeaseWait=%dms, evictions=%s",
+                getLeaseCount(), getReuseCount(), getCreationCount(),
+                getAverageLeaseWaitMillis(), getMaxLeaseWaitMillis(), getEvictions());
+    }
+}
@@ -0,0 +1,322 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Schedules parallel test methods longest-first from the durations of earlier runs,
+ * so slow tests start early instead of running alone at the tail. Also sizes the
+ * suite thread-count from the available cores, or the free grid slots in remote
+ * mode, and the driver pool, and records this run's durations for the next one.
+ * With shard.total &gt; 1 it also drops the methods and data-provider rows that
+ * belong to other shards. Register it in testng.xml.
+ */
+public class DurationScheduler implements IMethodInterceptor, IAlterSuiteListener,
+        IInvokedMethodListener, ISuiteListener, IDataProviderInterceptor {
+    private static final Logger logger = LogManager.getLogger(DurationScheduler.class);
+
+    private final boolean enabled = ConfigReader.getConfig().isSchedulerEnabled();
+    private final double defaultMillis = ConfigReader.getConfig().getSchedulerDefaultMillis();
+    private final Map<String, LongAdder> measured = new ConcurrentHashMap<>();
+    private final ThreadLocal<Invocation> invocation = ThreadLocal.withInitial(Invocation::new);
+    private TestDurationHistory history;
+    private volatile ShardPlan shardPlan;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int dataProviderThreads = ConfigReader.getConfig().getDataProviderThreadCount();
+        if (dataProviderThreads > 0) {
+            suites.forEach(suite -> suite.setDataProviderThreadCount(dataProviderThreads));
+        }
+        FrameworkConfig config = ConfigReader.getConfig();
+        boolean autoThreads = enabled && config.isSchedulerAutoThreads();
+        int gridSessions = ConfigReader.isRemoteDriver() ? GridClient.get().getCapacity() : 0;
+        if (!autoThreads && gridSessions == 0) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = config.getDriverPoolSize();
+        int maxThreads = config.getSchedulerMaxThreads();
+
+        for (XmlSuite suite : suites) {
+            if (!suite.getParallel().isParallel()) {
+                continue;
+            }
+            // Every thread holds up to data-provider-thread-count sessions
+            int sessionsPerThread = Math.max(1, suite.getDataProviderThreadCount());
+            int threads = autoThreads
+                    ? Math.max(1, (int) Math.floor(cores * config.getSchedulerThreadsPerCore()))
+                    : suite.getThreadCount();
+            if (gridSessions > 0) {
+                // Browsers run on the grid, so its slots bound parallelism rather than local cores
+                int gridThreads = Math.max(1, gridSessions / sessionsPerThread);
+                threads = autoThreads ? gridThreads : Math.min(threads, gridThreads);
+            }
+            if (autoThreads) {
+                // Local browsers are capped at driver.pool.size, or one per core when it is unset
+                int maxSessions = poolSize > 0 ? poolSize : gridSessions > 0 ? 0 : cores;
+                if (maxSessions > 0) {
+                    threads = Math.min(threads, Math.max(1, maxSessions / sessionsPerThread));
+                }
+                if (maxThreads > 0) {
+                    threads = Math.min(threads, maxThreads);
+                }
+            }
+            logger.info("Suite {}: thread-count {} -> {} ({} cores, {} sessions per thread, driver.pool.size {}, "
+                            + "grid sessions {})", suite.getName(), suite.getThreadCount(), threads, cores,
+                    sessionsPerThread, poolSize, gridSessions > 0 ? gridSessions : "-");
+            suite.setThreadCount(threads);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ShardPlan.isSharded()) {
+            return;
+        }
+        TestDurationHistory durations = enabled ? history() : null;
+        double unknown = enabled ? durations.median(defaultMillis) : defaultMillis;
+        ShardPlan plan = ShardPlan.create(suite.getAllMethods(),
+                method -> enabled ? durations.estimate(key(method), unknown) : defaultMillis);
+        logger.info("Running {} (plan {}): estimated {} s of work, busiest shard {} s", ShardPlan.label(),
+                plan.fingerprint(), Math.round(plan.getLoad() / 1000), Math.round(plan.getMaxLoad() / 1000));
+        shardPlan = plan;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ShardPlan plan = shardPlan;
+        if (plan != null) {
+            List<IMethodInstance> owned = new ArrayList<>();
+            for (IMethodInstance method : methods) {
+                if (plan.owns(method.getMethod())) {
+                    owned.add(method);
+                }
+            }
+            logger.info("Test {}: {} of {} methods run on {}", context.getName(), owned.size(), methods.size(),
+                    ShardPlan.label());
+            methods = owned;
+        }
+        if (!enabled) {
+            return methods;
+        }
+        TestDurationHistory durations = history();
+        double unknown = durations.median(defaultMillis);
+        int dataProviderThreads = Math.max(1, context.getSuite().getXmlSuite().getDataProviderThreadCount());
+        Map<IMethodInstance, Double> estimates = new HashMap<>();
+        for (IMethodInstance method : methods) {
+            double millis = wallMillis(method.getMethod(), durations.estimate(key(method.getMethod()), unknown),
+                    dataProviderThreads);
+            // A shard only runs its share of the rows
+            estimates.put(method, plan != null && method.getMethod().isDataDriven() ? millis / ShardPlan.total() : millis);
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingDouble((IMethodInstance method) -> estimates.get(method)).reversed());
+
+        int threads = Math.max(1, context.getCurrentXmlTest().getThreadCount());
+        logger.info("Test {}: {} methods ordered longest-first, predicted makespan {} s on {} threads "
+                        + "(declared order: {} s)", context.getName(), ordered.size(),
+                makespanSeconds(ordered, estimates, threads), threads, makespanSeconds(methods, estimates, threads));
+        return ordered;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        ShardPlan plan = shardPlan;
+        return plan == null ? original : new ShardRows(original, plan, method);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        invocation.get().startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Invocation current = invocation.get();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - current.startNanos);
+        ITestNGMethod testMethod = method.getTestMethod();
+
+        // Setup before and teardown after a test method count towards that method
+        if (method.isTestMethod()) {
+            current.lastTest = key(testMethod);
+            add(current.lastTest, millis + current.pendingSetupMillis);
+            current.pendingSetupMillis = 0;
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            current.pendingSetupMillis += millis;
+        } else if (testMethod.isAfterMethodConfiguration() && current.lastTest != null) {
+            add(current.lastTest, millis);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!enabled || measured.isEmpty()) {
+            return;
+        }
+        Map<String, Long> run = new TreeMap<>();
+        measured.forEach((test, millis) -> run.put(test, millis.sum()));
+        if (ShardPlan.isSharded()) {
+            // Shards share one history, so each leaves its timings to be merged afterwards
+            Path runFile = history().getFile().toAbsolutePath().resolveSibling("runs")
+                    .resolve(ShardPlan.label() + ".properties");
+            try {
+                TestDurationHistory.saveRun(runFile, run);
+                logger.info("Saved durations of {} test methods in {} for ShardReportMerger", run.size(), runFile);
+            } catch (IOException e) {
+                logger.warn("Failed to save shard durations: {}", e.getMessage());
+            }
+            return;
+        }
+        TestDurationHistory durations = history();
+        durations.update(run);
+        try {
+            durations.save();
+            logger.info("Updated durations of {} test methods in {}", run.size(), durations.getFile());
+        } catch (IOException e) {
+            logger.warn("Failed to save test duration history: {}", e.getMessage());
+        }
+    }
+
+    private synchronized TestDurationHistory history() {
+        if (history == null) {
+            history = new TestDurationHistory(ConfigReader.getConfig().getSchedulerHistoryPath(),
+                    ConfigReader.getConfig().getSchedulerHistoryAlpha()).load();
+        }
+        return history;
+    }
+
+    private void add(String test, long millis) {
+        measured.computeIfAbsent(test, key -> new LongAdder()).add(millis);
+    }
+
+    private static String key(ITestNGMethod method) {
+        return method.getQualifiedName();
+    }
+
+    /**
+     * Estimate the wall time of a method from its total time; rows of a parallel
+     * data provider share its data-provider-thread-count
+     */
+    private static double wallMillis(ITestNGMethod method, double totalMillis, int dataProviderThreads) {
+        return hasParallelRows(method) ? totalMillis / dataProviderThreads : totalMillis;
+    }
+
+    /**
+     * Check the @DataProvider of a method for parallel = true. TestNG only resolves
+     * getDataProviderMethod() when the method runs, so it is looked up from the annotations.
+     */
+    private static boolean hasParallelRows(ITestNGMethod method) {
+        Method testMethod = method.getConstructorOrMethod().getMethod();
+        Test test = testMethod == null ? null : testMethod.getAnnotation(Test.class);
+        if (!method.isDataDriven() || test == null) {
+            return false;
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class ? method.getRealClass() : test.dataProviderClass();
+        for (Method candidate : providerClass.getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            if (provider != null && test.dataProvider().equals(
+                    provider.name().isEmpty() ? candidate.getName() : provider.name())) {
+                return provider.parallel();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Simulate greedy list scheduling: each method goes to the thread that frees up first
+     */
+    private static long makespanSeconds(List<IMethodInstance> methods, Map<IMethodInstance, Double> estimates,
+                                        int threads) {
+        PriorityQueue<Double> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            finishTimes.add(0.0);
+        }
+        double makespan = 0;
+        for (IMethodInstance method : methods) {
+            double finish = finishTimes.poll() + estimates.get(method);
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return Math.round(makespan / 1000);
+    }
+
+    /**
+     * Data-provider rows of one method, without the rows that run on other shards
+     */
+    private static final class ShardRows implements Iterator<Object[]> {
+        private final Iterator<Object[]> rows;
+        private final ShardPlan plan;
+        private final ITestNGMethod method;
+        private int row;
+        private Object[] next;
+
+        private ShardRows(Iterator<Object[]> rows, ShardPlan plan, ITestNGMethod method) {
+            this.rows = rows;
+            this.plan = plan;
+            this.method = method;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && rows.hasNext()) {
+                Object[] candidate = rows.next();
+                if (plan.ownsRow(method, row++)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] current = next;
+            next = null;
+            return current;
+        }
+    }
+
+    /**
+     * Timing state of the method running on one worker thread
+     */
+    private static final class Invocation {
+        private long startNanos;
+        private long pendingSetupMillis;
+        private String lastTest;
+    }
+}
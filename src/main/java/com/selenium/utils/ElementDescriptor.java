@@ -0,0 +1,34 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+/**
+ * Log parameter that describes an element by its declared locator. It is only
+ * rendered when the message is formatted and never calls the driver, unlike
+ * toString() on a page-factory proxy, which locates the element first.
+ */
+public final class ElementDescriptor {
+    private final WebElement element;
+
+    private ElementDescriptor(WebElement element) {
+        this.element = element;
+    }
+
+    public static ElementDescriptor of(WebElement element) {
+        return new ElementDescriptor(element);
+    }
+
+    @Override
+    public String toString() {
+        By locator = LocatedElement.locatorOf(element);
+        if (locator != null) {
+            return locator.toString();
+        }
+        if (element instanceof RemoteWebElement) {
+            return "element " + ((RemoteWebElement) element).getId();
+        }
+        return element == null ? "null" : element.getClass().getSimpleName();
+    }
+}
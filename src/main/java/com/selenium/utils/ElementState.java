@@ -0,0 +1,63 @@
+package com.selenium.utils;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of a single element's state taken by {@link ElementStateQuery}
+ */
+public class ElementState {
+    private final boolean present;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final String text;
+    private final Map<String, String> attributes;
+
+    ElementState(boolean present, boolean displayed, boolean enabled, String text, Map<String, String> attributes) {
+        this.present = present;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Check if the element is displayed and enabled
+     */
+    public boolean isClickable() {
+        return displayed && enabled;
+    }
+
+    /**
+     * Get the rendered text, empty when the element is absent or hidden
+     */
+    public String getText() {
+        return text;
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementState{present=" + present + ", displayed=" + displayed + ", enabled=" + enabled
+                + ", text='" + text + "', attributes=" + attributes + "}";
+    }
+}
@@ -0,0 +1,113 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads presence, visibility, text and attributes of many elements in a single
+ * executeScript round-trip instead of one findElement/isDisplayed call per element
+ */
+public final class ElementStateQuery {
+    /** Element lookup by W3C locator and visibility check, shared with {@link WaitCondition} */
+    static final String FIND_FUNCTIONS =
+            "function find(l) {"
+            + "  switch (l[0]) {"
+            + "    case 'css selector': return document.querySelector(l[1]);"
+            + "    case 'xpath': return document.evaluate(l[1], document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'tag name': return document.getElementsByTagName(l[1])[0] || null;"
+            + "    case 'link text': case 'partial link text':"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var i = 0; i < links.length; i++) {"
+            + "        var t = links[i].innerText.trim();"
+            + "        if (l[0] === 'link text' ? t === l[1] : t.indexOf(l[1]) >= 0) { return links[i]; }"
+            + "      }"
+            + "      return null;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function visible(e) {"
+            + "  var style = window.getComputedStyle(e);"
+            + "  return style.visibility !== 'hidden' && style.opacity !== '0' && e.getClientRects().length > 0;"
+            + "}";
+
+    private static final String SCRIPT =
+            "var locators = arguments[0], attributeNames = arguments[1], elements = [];"
+            + FIND_FUNCTIONS
+            + "for (var i = 0; i < locators.length; i++) {"
+            + "  var e = find(locators[i]), shown = !!e && visible(e), attributes = {};"
+            + "  for (var j = 0; e && j < attributeNames.length; j++) {"
+            + "    attributes[attributeNames[j]] = e.getAttribute(attributeNames[j]);"
+            + "  }"
+            + "  elements.push({present: !!e, displayed: shown, enabled: !!e && !e.disabled,"
+            + "      text: shown ? e.innerText : '', attributes: attributes});"
+            + "}"
+            + "return {url: location.href, title: document.title, readyState: document.readyState, elements: elements};";
+
+    private ElementStateQuery() {
+    }
+
+    /**
+     * Query the state of the elements behind the given page-factory proxies
+     */
+    public static PageState query(WebDriver driver, List<String> attributeNames, WebElement... elements) {
+        By[] locators = new By[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            locators[i] = LocatedElement.locatorOf(elements[i]);
+            if (locators[i] == null) {
+                throw new IllegalArgumentException("Element has no declared locator: " + elements[i].getClass());
+            }
+        }
+        return query(driver, attributeNames, locators);
+    }
+
+    /**
+     * Query the state of the first element matched by each locator
+     */
+    @SuppressWarnings("unchecked")
+    public static PageState query(WebDriver driver, List<String> attributeNames, By... locators) {
+        List<List<Object>> remoteLocators = new ArrayList<>(locators.length);
+        for (By locator : locators) {
+            remoteLocators.add(toRemote(locator));
+        }
+
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SCRIPT, remoteLocators, attributeNames);
+        List<Map<String, Object>> states = (List<Map<String, Object>>) result.get("elements");
+
+        Map<By, ElementState> elements = new LinkedHashMap<>();
+        for (int i = 0; i < locators.length; i++) {
+            Map<String, Object> state = states.get(i);
+            Map<String, String> attributes = new LinkedHashMap<>();
+            ((Map<String, Object>) state.get("attributes")).forEach(
+                    (name, value) -> attributes.put(name, value == null ? null : value.toString()));
+            elements.put(locators[i], new ElementState(
+                    Boolean.TRUE.equals(state.get("present")),
+                    Boolean.TRUE.equals(state.get("displayed")),
+                    Boolean.TRUE.equals(state.get("enabled")),
+                    String.valueOf(state.get("text")),
+                    attributes));
+        }
+        return new PageState((String) result.get("url"), (String) result.get("title"),
+                (String) result.get("readyState"), elements);
+    }
+
+    /**
+     * Translate a locator to its W3C strategy and value, e.g. By.id becomes a CSS selector
+     */
+    static List<Object> toRemote(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the browser: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return Arrays.asList(parameters.using(), String.valueOf(parameters.value()));
+    }
+}
@@ -0,0 +1,901 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import javax.imageio.ImageIO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Immutable, validated snapshot of the framework configuration.
+ * <p>
+ * Values are layered from lowest to highest precedence:
+ * <ol>
+ *     <li>{@code config.properties} on the classpath (or {@code src/test/resources} when run from the repo)</li>
+ *     <li>{@code config-<profile>.properties} for the profile named by {@code config.profile}</li>
+ *     <li>environment variables, e.g. {@code APP_URL} for {@code app.url}</li>
+ *     <li>system properties, e.g. {@code -Dbrowser=firefox}</li>
+ * </ol>
+ * Typed values are parsed once, so getters on hot paths are plain field reads.
+ */
+public final class FrameworkConfig {
+    private static final String CONFIG_FILE = "config.properties";
+    private static final Path SOURCE_DIR = Paths.get("src", "test", "resources");
+    private static final Set<String> SUPPORTED_BROWSERS = new HashSet<>(Arrays.asList("chrome", "firefox", "edge"));
+
+    private final Map<String, String> values;
+    private final String profile;
+
+    private final String url;
+    private final boolean localApp;
+    private final int localAppPort;
+    private final int localAppLatencyMillis;
+    private final int localAppGlitchMillis;
+    private final String browser;
+    private final boolean headless;
+    private final BrowserProfile browserProfile;
+    private final boolean remoteDriver;
+    private final String gridUrl;
+    private final int gridMaxSessions;
+    private final boolean gridCapacityAware;
+    private final Duration gridSessionTimeout;
+    private final Duration gridStatusTimeout;
+    private final int localGridPort;
+    private final int localGridSlots;
+    private final int localGridSessionMillis;
+    private final int explicitWaitSeconds;
+    private final int pageLoadTimeoutSeconds;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final Duration explicitWait;
+    private final Duration pageLoadTimeout;
+    private final Duration waitAbsenceTimeout;
+    private final Duration waitPollInitial;
+    private final Duration waitPollMax;
+    private final double waitPollBackoff;
+    private final WaitEngine.Mode waitMode;
+    private final long waitMutationSweepMillis;
+    private final String validUsername;
+    private final String validPassword;
+    private final String invalidUsername;
+    private final String invalidPassword;
+    private final String screenshotsPath;
+    private final String reportsPath;
+    private final int screenshotWriterThreads;
+    private final int screenshotQueueCapacity;
+    private final ScreenshotWriter.Backpressure screenshotBackpressure;
+    private final Duration screenshotDrainTimeout;
+    private final boolean screenshotStoreEnabled;
+    private final String screenshotStoreFormat;
+    private final int screenshotStoreMaxWidth;
+    private final long screenshotStoreMaxBytes;
+    private final boolean screenshotStoreSymlinks;
+    private final boolean sessionCacheEnabled;
+    private final boolean sessionCacheValidate;
+    private final int sessionCacheTtlSeconds;
+    private final boolean schedulerEnabled;
+    private final Path schedulerHistoryPath;
+    private final double schedulerHistoryAlpha;
+    private final int schedulerDefaultMillis;
+    private final boolean schedulerAutoThreads;
+    private final double schedulerThreadsPerCore;
+    private final int schedulerMaxThreads;
+    private final int dataProviderThreadCount;
+    private final boolean dataReadMapped;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final int dataShardIndex;
+    private final int dataShardTotal;
+    private final String logTestVerbosity;
+    private final boolean metricsEnabled;
+    private final Path metricsPath;
+    private final boolean reportExtentEnabled;
+    private final boolean reportEventsEnabled;
+    private final int driverPoolSize;
+    private final int driverPoolMaxUses;
+    private final int driverPoolLeaseTimeoutSeconds;
+    private final boolean driverOffline;
+    private final Map<String, String> driverBinaries;
+    private final Path driverManifestPath;
+    private final boolean virtualThreads;
+    private final boolean resourceBlockEnabled;
+    private final List<String> resourceBlockUrls;
+    private final List<String> resourceBlockTypes;
+    private final List<String> resourceStubTypes;
+    private final List<String> resourceStubUrls;
+
+    private FrameworkConfig(Map<String, String> values, String profile) {
+        this.values = Collections.unmodifiableMap(values);
+        this.profile = profile;
+        List<String> errors = new ArrayList<>();
+
+        this.url = required("app.url", errors);
+        this.localApp = choice("app.mode", "remote", Arrays.asList("remote", "local"), errors).equals("local");
+        this.localAppPort = nonNegativeInt("app.local.port", 0, errors);
+        if (localAppPort > 65535) {
+            errors.add("app.local.port must be at most 65535 but was " + localAppPort);
+        }
+        this.localAppLatencyMillis = nonNegativeInt("app.local.latency.ms", 0, errors);
+        this.localAppGlitchMillis = nonNegativeInt("app.local.glitch.ms", 5000, errors);
+        String configuredBrowser = required("browser", errors);
+        this.browser = configuredBrowser == null ? null : configuredBrowser.trim().toLowerCase(Locale.ROOT);
+        if (browser != null && !SUPPORTED_BROWSERS.contains(browser)) {
+            errors.add("browser must be one of " + SUPPORTED_BROWSERS + " but was '" + browser + "'");
+        }
+        this.headless = bool("headless", false, errors);
+        BrowserProfile configuredProfile = BrowserProfile.DEFAULT;
+        try {
+            configuredProfile = BrowserProfile.parse(values.getOrDefault("browser.profile", "default"));
+        } catch (IllegalArgumentException e) {
+            errors.add(e.getMessage());
+        }
+        this.browserProfile = configuredProfile;
+        this.remoteDriver = choice("driver.mode", "local", Arrays.asList("local", "remote"), errors).equals("remote");
+        this.gridUrl = values.getOrDefault("grid.url", "http://localhost:4444").trim();
+        if (remoteDriver && !isLocalGrid()) {
+            try {
+                new URL(gridUrl).toURI();
+            } catch (MalformedURLException | URISyntaxException e) {
+                errors.add("grid.url must be a URL but was '" + gridUrl + "'");
+            }
+        }
+        this.gridMaxSessions = nonNegativeInt("grid.max.sessions", 0, errors);
+        this.gridCapacityAware = bool("grid.capacity.aware", true, errors);
+        this.gridSessionTimeout = Duration.ofSeconds(nonNegativeInt("grid.session.timeout", 300, errors));
+        this.gridStatusTimeout = Duration.ofMillis(positiveInt("grid.status.timeout.ms", 5000, errors));
+        this.localGridPort = nonNegativeInt("grid.local.port", 0, errors);
+        if (localGridPort > 65535) {
+            errors.add("grid.local.port must be at most 65535 but was " + localGridPort);
+        }
+        this.localGridSlots = positiveInt("grid.local.slots", 4, errors);
+        this.localGridSessionMillis = nonNegativeInt("grid.local.session.ms", 500, errors);
+        if (nonNegativeInt("implicit.wait", 0, errors) != 0) {
+            errors.add("implicit.wait is no longer supported, implicit waits are always off; "
+                    + "tune explicit.wait and wait.* instead");
+        }
+        this.explicitWaitSeconds = nonNegativeInt("explicit.wait", 15, errors);
+        this.pageLoadTimeoutSeconds = nonNegativeInt("page.load.timeout", 30, errors);
+        String strategy = values.getOrDefault("page.load.strategy", "").trim().toLowerCase(Locale.ROOT);
+        this.pageLoadStrategy = strategy.isEmpty() ? null : PageLoadStrategy.fromString(strategy);
+        if (!strategy.isEmpty() && pageLoadStrategy == null) {
+            errors.add("page.load.strategy must be normal, eager or none but was '" + strategy + "'");
+        }
+        this.explicitWait = Duration.ofSeconds(explicitWaitSeconds);
+        this.pageLoadTimeout = Duration.ofSeconds(pageLoadTimeoutSeconds);
+        this.waitAbsenceTimeout = Duration.ofMillis(nonNegativeInt("wait.absence.timeout.ms", 1000, errors));
+        this.waitPollInitial = Duration.ofMillis(positiveInt("wait.poll.initial.ms", 25, errors));
+        this.waitPollMax = Duration.ofMillis(positiveInt("wait.poll.max.ms", 500, errors));
+        this.waitPollBackoff = decimal("wait.poll.backoff", 1.5, 1.0, errors);
+        WaitEngine.Mode configuredWaitMode = WaitEngine.Mode.POLLING;
+        try {
+            configuredWaitMode = WaitEngine.Mode.parse(values.getOrDefault("wait.mode", "polling"));
+        } catch (IllegalArgumentException e) {
+            errors.add(e.getMessage());
+        }
+        this.waitMode = configuredWaitMode;
+        this.waitMutationSweepMillis = positiveInt("wait.mutation.sweep.ms", 250, errors);
+        this.validUsername = values.get("valid.username");
+        this.validPassword = values.get("valid.password");
+        this.invalidUsername = values.get("invalid.username");
+        this.invalidPassword = values.get("invalid.password");
+        this.screenshotsPath = values.getOrDefault("screenshots.path", "test-output/screenshots/");
+        this.reportsPath = values.getOrDefault("reports.path", "test-output/reports/");
+        this.screenshotWriterThreads = positiveInt("screenshot.writer.threads", 1, errors);
+        this.screenshotQueueCapacity = positiveInt("screenshot.queue.capacity", 64, errors);
+        this.screenshotBackpressure = ScreenshotWriter.Backpressure.valueOf(choice("screenshot.backpressure", "block",
+                Arrays.asList("block", "caller-runs", "drop"), errors).toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.screenshotDrainTimeout = Duration.ofSeconds(nonNegativeInt("screenshot.drain.timeout", 60, errors));
+        this.screenshotStoreEnabled = bool("screenshot.store.enabled", false, errors);
+        this.screenshotStoreFormat = values.getOrDefault("screenshot.store.format", "png").trim().toLowerCase(Locale.ROOT);
+        if (!ImageIO.getImageWritersByFormatName(screenshotStoreFormat).hasNext()) {
+            errors.add("screenshot.store.format must be an image format such as png or jpg but was '"
+                    + screenshotStoreFormat + "'");
+        }
+        this.screenshotStoreMaxWidth = nonNegativeInt("screenshot.store.max.width", 0, errors);
+        this.screenshotStoreMaxBytes = nonNegativeInt("screenshot.store.max.mb", 0, errors) * 1024L * 1024L;
+        this.screenshotStoreSymlinks = bool("screenshot.store.symlinks", true, errors);
+        this.sessionCacheEnabled = bool("session.cache.enabled", true, errors);
+        this.sessionCacheValidate = bool("session.cache.validate", true, errors);
+        this.sessionCacheTtlSeconds = nonNegativeInt("session.cache.ttl.seconds", 600, errors);
+        this.schedulerEnabled = bool("scheduler.enabled", true, errors);
+        this.schedulerHistoryPath = Paths.get(values.getOrDefault("scheduler.history.path",
+                "test-history/durations.properties").trim());
+        this.schedulerHistoryAlpha = decimal("scheduler.history.alpha", 0.5, 0.01, errors);
+        if (schedulerHistoryAlpha > 1) {
+            errors.add("scheduler.history.alpha must be at most 1 but was " + schedulerHistoryAlpha);
+        }
+        this.schedulerDefaultMillis = positiveInt("scheduler.default.ms", 20000, errors);
+        this.schedulerAutoThreads = bool("scheduler.auto.threads", false, errors);
+        this.schedulerThreadsPerCore = decimal("scheduler.threads.per.core", 1.0, 0.01, errors);
+        this.schedulerMaxThreads = nonNegativeInt("scheduler.max.threads", 0, errors);
+        this.dataProviderThreadCount = nonNegativeInt("dataprovider.thread.count", 0, errors);
+        this.dataReadMapped = choice("data.read.mode", "buffered", Arrays.asList("buffered", "mmap"), errors)
+                .equals("mmap");
+        this.shardTotal = positiveInt("shard.total", 1, errors);
+        this.shardIndex = nonNegativeInt("shard.index", 0, errors);
+        if (shardIndex >= shardTotal) {
+            errors.add("shard.index must be between 0 and shard.total - 1 but was " + shardIndex);
+        }
+        this.dataShardTotal = positiveInt("data.shard.total", 1, errors);
+        this.dataShardIndex = nonNegativeInt("data.shard.index", 0, errors);
+        if (dataShardIndex >= dataShardTotal) {
+            errors.add("data.shard.index must be between 0 and data.shard.total - 1 but was " + dataShardIndex);
+        }
+        this.logTestVerbosity = choice("log.test.verbosity", "failure", Arrays.asList("failure", "all", "none"), errors);
+        this.metricsEnabled = bool("metrics.enabled", true, errors);
+        this.metricsPath = Paths.get(values.getOrDefault("metrics.path", "test-output/metrics/").trim());
+        this.reportExtentEnabled = bool("report.extent.enabled", true, errors);
+        this.reportEventsEnabled = bool("report.events.enabled", true, errors);
+        this.driverPoolSize = nonNegativeInt("driver.pool.size", 0, errors);
+        this.driverPoolMaxUses = nonNegativeInt("driver.pool.max.uses", 20, errors);
+        this.driverPoolLeaseTimeoutSeconds = nonNegativeInt("driver.pool.lease.timeout", 120, errors);
+        this.driverOffline = bool("driver.offline", false, errors);
+        Map<String, String> binaries = new HashMap<>();
+        for (String supported : SUPPORTED_BROWSERS) {
+            String binary = values.getOrDefault("driver.binary." + supported, "").trim();
+            if (!binary.isEmpty()) {
+                binaries.put(supported, binary);
+            }
+        }
+        this.driverBinaries = Collections.unmodifiableMap(binaries);
+        if (driverOffline && !remoteDriver && browser != null && !driverBinaries.containsKey(browser)) {
+            errors.add("driver.offline requires driver.binary." + browser);
+        }
+        this.driverManifestPath = Paths.get(values.getOrDefault("driver.manifest.path",
+                "target/driver-manifest.properties").trim());
+        this.virtualThreads = bool("threads.virtual", false, errors);
+        this.resourceBlockEnabled = bool("resource.block.enabled", false, errors);
+        this.resourceBlockUrls = list("resource.block.urls");
+        this.resourceBlockTypes = resourceTypes("resource.block.types", errors);
+        this.resourceStubTypes = resourceTypes("resource.stub.types", errors);
+        this.resourceStubUrls = list("resource.stub.urls");
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration" + (profile == null ? "" : " (profile " + profile + ")")
+                    + ":\n  " + String.join("\n  ", errors));
+        }
+    }
+
+    /**
+     * Resolve and validate the configuration from all sources
+     */
+    public static FrameworkConfig load() {
+        Map<String, String> values = new HashMap<>();
+        if (!loadInto(values, CONFIG_FILE)) {
+            throw new IllegalStateException("Failed to load configuration properties: " + CONFIG_FILE
+                    + " not found on the classpath or in " + SOURCE_DIR);
+        }
+
+        String profile = firstNonBlank(System.getProperty("config.profile"), System.getenv("CONFIG_PROFILE"),
+                values.get("config.profile"));
+        if (profile != null && !loadInto(values, "config-" + profile + ".properties")) {
+            throw new IllegalStateException("Configuration profile not found: config-" + profile + ".properties");
+        }
+
+        // Only keys in a namespace the properties files already use can be overridden,
+        // so unrelated environment variables and JVM properties stay out of the snapshot
+        Set<String> namespaces = new HashSet<>();
+        for (String key : values.keySet()) {
+            namespaces.add(namespaceOf(key));
+        }
+        System.getenv().forEach((name, value) -> {
+            String key = name.toLowerCase(Locale.ROOT).replace('_', '.');
+            if (namespaces.contains(namespaceOf(key))) {
+                values.put(key, value);
+            }
+        });
+        System.getProperties().stringPropertyNames().forEach(key -> {
+            if (namespaces.contains(namespaceOf(key))) {
+                values.put(key, System.getProperty(key));
+            }
+        });
+        return new FrameworkConfig(values, profile);
+    }
+
+    private static boolean loadInto(Map<String, String> values, String resource) {
+        Properties properties = new Properties();
+        try (InputStream in = openResource(resource)) {
+            if (in == null) {
+                return false;
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load configuration properties: " + e.getMessage(), e);
+        }
+        properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        return true;
+    }
+
+    private static InputStream openResource(String resource) throws IOException {
+        InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+        if (in != null) {
+            return in;
+        }
+        Path file = SOURCE_DIR.resolve(resource);
+        return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+    }
+
+    private static String namespaceOf(String key) {
+        int dot = key.indexOf('.');
+        return dot < 0 ? key : key.substring(0, dot);
+    }
+
+    private static String firstNonBlank(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.trim().isEmpty()) {
+                return candidate.trim();
+            }
+        }
+        return null;
+    }
+
+    private String required(String key, List<String> errors) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            errors.add(key + " is required");
+            return null;
+        }
+        return value.trim();
+    }
+
+    private int nonNegativeInt(String key, int defaultValue, List<String> errors) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                errors.add(key + " must not be negative but was " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be an integer but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    private int positiveInt(String key, int defaultValue, List<String> errors) {
+        int value = nonNegativeInt(key, defaultValue, errors);
+        if (value == 0) {
+            errors.add(key + " must be at least 1");
+        }
+        return value;
+    }
+
+    private boolean bool(String key, boolean defaultValue, List<String> errors) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (!trimmed.equals("true") && !trimmed.equals("false")) {
+            errors.add(key + " must be true or false but was '" + value + "'");
+            return defaultValue;
+        }
+        return trimmed.equals("true");
+    }
+
+    private double decimal(String key, double defaultValue, double min, List<String> errors) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (!(parsed >= min) || Double.isInfinite(parsed)) {
+                errors.add(key + " must be a number of at least " + min + " but was " + value.trim());
+                return defaultValue;
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a number but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Read a lower-case value that must be one of choices
+     */
+    private String choice(String key, String defaultValue, List<String> choices, List<String> errors) {
+        String value = values.getOrDefault(key, "").trim().toLowerCase(Locale.ROOT);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        if (!choices.contains(value)) {
+            errors.add(key + " must be one of " + choices + " but was '" + value + "'");
+            return defaultValue;
+        }
+        return value;
+    }
+
+    private List<String> list(String key) {
+        List<String> items = new ArrayList<>();
+        for (String item : values.getOrDefault(key, "").split(",")) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Read CDP resource types, accepting any case, in the form CDP expects
+     */
+    private List<String> resourceTypes(String key, List<String> errors) {
+        List<String> types = new ArrayList<>();
+        for (String name : list(key)) {
+            String type = ResourceBlocker.RESOURCE_TYPES.stream().filter(name::equalsIgnoreCase).findFirst().orElse(null);
+            if (type == null) {
+                errors.add(key + " must list types of " + ResourceBlocker.RESOURCE_TYPES + " but has '" + name + "'");
+            } else if (!types.contains(type)) {
+                types.add(type);
+            }
+        }
+        return Collections.unmodifiableList(types);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Check if tests run against the in-JVM {@link LocalAppServer} instead of app.url
+     */
+    public boolean isLocalApp() {
+        return localApp;
+    }
+
+    /**
+     * Get the port of the local app, 0 for a free one
+     */
+    public int getLocalAppPort() {
+        return localAppPort;
+    }
+
+    /**
+     * Get the delay the local app adds to every response in ms
+     */
+    public int getLocalAppLatencyMillis() {
+        return localAppLatencyMillis;
+    }
+
+    /**
+     * Get the extra delay of performance_glitch_user logins on the local app in ms
+     */
+    public int getLocalAppGlitchMillis() {
+        return localAppGlitchMillis;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Get the launch options profile of browser.profile
+     */
+    public BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+
+    /**
+     * Check if drivers are RemoteWebDriver sessions on the grid at grid.url instead of local browsers
+     */
+    public boolean isRemoteDriver() {
+        return remoteDriver;
+    }
+
+    public String getGridUrl() {
+        return gridUrl;
+    }
+
+    /**
+     * Check if grid.url=local selects the in-JVM {@link LocalGridServer} stand-in hub
+     */
+    public boolean isLocalGrid() {
+        return "local".equalsIgnoreCase(gridUrl);
+    }
+
+    /**
+     * Get the most grid sessions this JVM opens at once, 0 to size from the grid status or not limit
+     */
+    public int getGridMaxSessions() {
+        return gridMaxSessions;
+    }
+
+    /**
+     * Check if the session limit comes from the grid's free slots when grid.max.sessions is 0
+     */
+    public boolean isGridCapacityAware() {
+        return gridCapacityAware;
+    }
+
+    /**
+     * Get how long a test waits for a free grid session
+     */
+    public Duration getGridSessionTimeout() {
+        return gridSessionTimeout;
+    }
+
+    public Duration getGridStatusTimeout() {
+        return gridStatusTimeout;
+    }
+
+    /**
+     * Get the port of the stand-in hub, 0 for a free one
+     */
+    public int getLocalGridPort() {
+        return localGridPort;
+    }
+
+    public int getLocalGridSlots() {
+        return localGridSlots;
+    }
+
+    /**
+     * Get the simulated session start-up time of the stand-in hub in ms
+     */
+    public int getLocalGridSessionMillis() {
+        return localGridSessionMillis;
+    }
+
+    public int getExplicitWaitSeconds() {
+        return explicitWaitSeconds;
+    }
+
+    public int getPageLoadTimeoutSeconds() {
+        return pageLoadTimeoutSeconds;
+    }
+
+    /**
+     * Get the page.load.strategy, or null to use the one of the browser profile
+     */
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public Duration getExplicitWait() {
+        return explicitWait;
+    }
+
+    public Duration getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    /**
+     * Get how long checks for elements that are usually absent wait before giving up
+     */
+    public Duration getWaitAbsenceTimeout() {
+        return waitAbsenceTimeout;
+    }
+
+    public Duration getWaitPollInitial() {
+        return waitPollInitial;
+    }
+
+    public Duration getWaitPollMax() {
+        return waitPollMax;
+    }
+
+    /**
+     * Get the factor the poll interval grows by after each unsuccessful poll
+     */
+    public double getWaitPollBackoff() {
+        return waitPollBackoff;
+    }
+
+    /**
+     * Get the wait.mode of pages without a {@link com.selenium.pages.PageWaitMode}
+     */
+    public WaitEngine.Mode getWaitMode() {
+        return waitMode;
+    }
+
+    /**
+     * Get how often mutation waits re-check their condition without a DOM change
+     */
+    public long getWaitMutationSweepMillis() {
+        return waitMutationSweepMillis;
+    }
+
+    public String getValidUsername() {
+        return validUsername;
+    }
+
+    public String getValidPassword() {
+        return validPassword;
+    }
+
+    public String getInvalidUsername() {
+        return invalidUsername;
+    }
+
+    public String getInvalidPassword() {
+        return invalidPassword;
+    }
+
+    public String getScreenshotsPath() {
+        return screenshotsPath;
+    }
+
+    public String getReportsPath() {
+        return reportsPath;
+    }
+
+    public int getScreenshotWriterThreads() {
+        return screenshotWriterThreads;
+    }
+
+    public int getScreenshotQueueCapacity() {
+        return screenshotQueueCapacity;
+    }
+
+    public ScreenshotWriter.Backpressure getScreenshotBackpressure() {
+        return screenshotBackpressure;
+    }
+
+    /**
+     * Get how long the end of the suite waits for queued screenshots to be written
+     */
+    public Duration getScreenshotDrainTimeout() {
+        return screenshotDrainTimeout;
+    }
+
+    /**
+     * Check if screenshots go to the deduplicating {@link ScreenshotStore} instead of one file each
+     */
+    public boolean isScreenshotStoreEnabled() {
+        return screenshotStoreEnabled;
+    }
+
+    public String getScreenshotStoreFormat() {
+        return screenshotStoreFormat;
+    }
+
+    public int getScreenshotStoreMaxWidth() {
+        return screenshotStoreMaxWidth;
+    }
+
+    /**
+     * Get the screenshot.store.max.mb cap in bytes, 0 for no cap
+     */
+    public long getScreenshotStoreMaxBytes() {
+        return screenshotStoreMaxBytes;
+    }
+
+    public boolean isScreenshotStoreSymlinks() {
+        return screenshotStoreSymlinks;
+    }
+
+    public boolean isSessionCacheEnabled() {
+        return sessionCacheEnabled;
+    }
+
+    public boolean isSessionCacheValidate() {
+        return sessionCacheValidate;
+    }
+
+    /**
+     * Get how long a cached session is reused, 0 to rely on its cookie expiry alone
+     */
+    public int getSessionCacheTtlSeconds() {
+        return sessionCacheTtlSeconds;
+    }
+
+    public boolean isSchedulerEnabled() {
+        return schedulerEnabled;
+    }
+
+    public Path getSchedulerHistoryPath() {
+        return schedulerHistoryPath;
+    }
+
+    /**
+     * Get the weight of the latest run in the moving average of test durations
+     */
+    public double getSchedulerHistoryAlpha() {
+        return schedulerHistoryAlpha;
+    }
+
+    /**
+     * Get the duration assumed for tests without history when there is no history at all
+     */
+    public int getSchedulerDefaultMillis() {
+        return schedulerDefaultMillis;
+    }
+
+    /**
+     * Check if the scheduler replaces the testng.xml thread-count with one sized from the cores
+     */
+    public boolean isSchedulerAutoThreads() {
+        return schedulerAutoThreads;
+    }
+
+    public double getSchedulerThreadsPerCore() {
+        return schedulerThreadsPerCore;
+    }
+
+    /**
+     * Get the upper bound of an automatic thread-count, 0 for none
+     */
+    public int getSchedulerMaxThreads() {
+        return schedulerMaxThreads;
+    }
+
+    /**
+     * Get the threads for rows of parallel data providers, 0 to keep the testng.xml data-provider-thread-count
+     */
+    public int getDataProviderThreadCount() {
+        return dataProviderThreadCount;
+    }
+
+    /**
+     * Check if data.read.mode=mmap memory-maps test data files instead of reading them through a buffer
+     */
+    public boolean isDataReadMapped() {
+        return dataReadMapped;
+    }
+
+    /**
+     * Get which of the shard.total JVMs of a sharded run this is
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    /**
+     * Get which of the data.shard.total shares of test data file rows this JVM reads
+     */
+    public int getDataShardIndex() {
+        return dataShardIndex;
+    }
+
+    public int getDataShardTotal() {
+        return dataShardTotal;
+    }
+
+    /**
+     * Get which tests have their buffered debug log written: failure, all or none
+     */
+    public String getLogTestVerbosity() {
+        return logTestVerbosity;
+    }
+
+    /**
+     * Check if WebDriver commands, waits and page actions are timed by {@link StepMetrics}
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public Path getMetricsPath() {
+        return metricsPath;
+    }
+
+    /**
+     * Check if the in-memory ExtentReports HTML report is built
+     */
+    public boolean isReportExtentEnabled() {
+        return reportExtentEnabled;
+    }
+
+    /**
+     * Check if finished tests are appended to the JSONL event log
+     */
+    public boolean isReportEventsEnabled() {
+        return reportEventsEnabled;
+    }
+
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    public int getDriverPoolMaxUses() {
+        return driverPoolMaxUses;
+    }
+
+    public int getDriverPoolLeaseTimeoutSeconds() {
+        return driverPoolLeaseTimeoutSeconds;
+    }
+
+    /**
+     * Check if driver.offline uses the pre-provisioned driver.binary.* instead of downloading drivers
+     */
+    public boolean isDriverOffline() {
+        return driverOffline;
+    }
+
+    /**
+     * Get the driver.binary.&lt;browser&gt; path, or null when none is configured
+     */
+    public String getDriverBinary(String browser) {
+        return driverBinaries.get(browser);
+    }
+
+    public Path getDriverManifestPath() {
+        return driverManifestPath;
+    }
+
+    /**
+     * Check if threads.virtual asks for virtual threads; {@link ThreadFactories} also needs JDK 21
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Check if {@link ResourceBlocker} blocks and stubs assets in Chromium sessions
+     */
+    public boolean isResourceBlockEnabled() {
+        return resourceBlockEnabled;
+    }
+
+    /**
+     * Get the CDP URL patterns failed in the browser's network stack
+     */
+    public List<String> getResourceBlockUrls() {
+        return resourceBlockUrls;
+    }
+
+    /**
+     * Get the CDP resource types failed on request
+     */
+    public List<String> getResourceBlockTypes() {
+        return resourceBlockTypes;
+    }
+
+    /**
+     * Get the CDP resource types answered with an empty 200
+     */
+    public List<String> getResourceStubTypes() {
+        return resourceStubTypes;
+    }
+
+    /**
+     * Get the CDP URL patterns answered with an empty 200
+     */
+    public List<String> getResourceStubUrls() {
+        return resourceStubUrls;
+    }
+}
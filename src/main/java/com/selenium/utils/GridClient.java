@@ -0,0 +1,178 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates RemoteWebDriver sessions on the grid at grid.url. This JVM holds at most
+ * as many sessions as the grid had free slots for the browser when the run started
+ * (shared out between shards), or grid.max.sessions. Further session requests wait
+ * in a fair queue on this side for up to grid.session.timeout seconds, so the hub
+ * never has more requests queued than it has slots.
+ */
+public final class GridClient {
+    private static final Logger logger = LogManager.getLogger(GridClient.class);
+
+    private static GridClient instance;
+
+    private final URL url;
+    private final int capacity;
+    private final Semaphore sessions;
+    private final Duration queueTimeout;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger peakWaiting = new AtomicInteger();
+
+    GridClient(String url, int capacity, Duration queueTimeout) {
+        try {
+            this.url = new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("grid.url must be a URL but was '" + url + "'", e);
+        }
+        this.capacity = capacity;
+        this.sessions = capacity > 0 ? new Semaphore(capacity, true) : null;
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * Get the client for the configured grid, sizing it from the grid status on first use
+     */
+    public static synchronized GridClient get() {
+        if (instance == null) {
+            FrameworkConfig config = ConfigReader.getConfig();
+            String url = ConfigReader.getGridUrl();
+            int capacity = config.getGridMaxSessions();
+            if (capacity <= 0 && config.isGridCapacityAware()) {
+                capacity = capacityFromStatus(url, DriverFactory.getBrowserName());
+            }
+            instance = new GridClient(url, capacity, config.getGridSessionTimeout());
+            logger.info("Using grid {} with {} sessions", url, capacity > 0 ? capacity : "unlimited");
+        }
+        return instance;
+    }
+
+    /**
+     * Share out the free slots of the grid between the shards of the run
+     * @return Sessions for this JVM, or 0 if the grid could not tell
+     */
+    private static int capacityFromStatus(String url, String browserName) {
+        GridStatus status;
+        try {
+            status = GridStatus.fetch(url, ConfigReader.getConfig().getGridStatusTimeout());
+        } catch (UncheckedIOException e) {
+            logger.warn("Not limiting grid sessions: {}", e.getMessage());
+            return 0;
+        }
+        if (!status.hasNodes()) {
+            logger.warn("Not limiting grid sessions: {} does not list its nodes", url);
+            return 0;
+        }
+        int free = status.getFreeSlots(browserName);
+        int slots = status.getSlots(browserName);
+        if (slots == 0) {
+            throw new SessionNotCreatedException("Grid at " + url + " has no " + browserName + " slots");
+        }
+        if (!status.isReady()) {
+            logger.warn("Grid at {} is not ready", url);
+        }
+        // Slots taken by someone else still come free during the run, so queue for them
+        int available = free > 0 ? free : slots;
+        logger.info("Grid at {}: {} of {} {} slots free", url, free, slots, browserName);
+        return Math.max(1, available / ShardPlan.total());
+    }
+
+    /**
+     * Number of sessions this JVM may hold at once, 0 if unlimited
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Highest number of session requests that waited in the queue at once
+     */
+    public int getPeakWaiting() {
+        return peakWaiting.get();
+    }
+
+    /**
+     * Start a session, waiting for a free slot if this JVM holds its share already
+     * @throws SessionNotCreatedException if no slot came free within grid.session.timeout
+     */
+    public WebDriver newSession(Capabilities capabilities) {
+        long start = System.nanoTime();
+        if (sessions != null) {
+            acquire(start);
+        }
+        try {
+            return new GridSession(url, capabilities, sessions);
+        } catch (RuntimeException e) {
+            if (sessions != null) {
+                sessions.release();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Take a session slot, queueing behind earlier requests when none is free
+     */
+    private void acquire(long start) {
+        try {
+            // The timed tryAcquire honours the fair ordering, the untimed one would jump the queue
+            if (sessions.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            peakWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+            try {
+                if (!sessions.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new SessionNotCreatedException("Timed out after " + queueTimeout.getSeconds()
+                            + "s waiting for one of " + capacity + " grid sessions at " + url);
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a grid session", e);
+        }
+        StepMetrics.record(StepMetrics.WAIT, "gridSession", start);
+        logger.debug("Waited {} ms for a grid session", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Hands its slot back when quit
+     */
+    private static class GridSession extends RemoteWebDriver {
+        private final Semaphore sessions;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private GridSession(URL url, Capabilities capabilities, Semaphore sessions) {
+            super(url, capabilities);
+            this.sessions = sessions;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                if (sessions != null && released.compareAndSet(false, true)) {
+                    sessions.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Session slots of a Selenium Grid as reported by its /status endpoint
+ */
+public final class GridStatus {
+    private static final Json JSON = new Json();
+
+    private final boolean ready;
+    private final List<Map<String, Object>> nodes;
+
+    private GridStatus(boolean ready, List<Map<String, Object>> nodes) {
+        this.ready = ready;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Query the status endpoint of the grid
+     * @throws UncheckedIOException if the grid cannot be reached or answers with an error
+     */
+    public static GridStatus fetch(String gridUrl, Duration timeout) {
+        URI uri = URI.create(gridUrl.replaceAll("/+$", "") + "/status");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            return parse(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("Interrupted while querying " + uri, e));
+        } catch (IOException | JsonException e) {
+            throw new UncheckedIOException(new IOException("Failed to query grid status at " + uri + ": "
+                    + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Parse a status response; nodes are only listed by Selenium 4 grids
+     */
+    @SuppressWarnings("unchecked")
+    public static GridStatus parse(String json) {
+        Map<String, Object> status = JSON.toType(json, Json.MAP_TYPE);
+        Map<String, Object> value = (Map<String, Object>) status.get("value");
+        if (value == null) {
+            throw new JsonException("Grid status has no value: " + json);
+        }
+        Object nodes = value.get("nodes");
+        return new GridStatus(Boolean.TRUE.equals(value.get("ready")),
+                nodes instanceof List ? (List<Map<String, Object>>) nodes : List.of());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Check if the grid listed its nodes, without which slots cannot be counted
+     */
+    public boolean hasNodes() {
+        return !nodes.isEmpty();
+    }
+
+    /**
+     * Count the slots for the browser on nodes that are up
+     */
+    public int getSlots(String browserName) {
+        return count(browserName, false);
+    }
+
+    /**
+     * Count the slots for the browser that could take a new session now. A node never
+     * runs more than its maxSessions at once, however many slots it offers.
+     */
+    public int getFreeSlots(String browserName) {
+        return count(browserName, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int count(String browserName, boolean freeOnly) {
+        int total = 0;
+        for (Map<String, Object> node : nodes) {
+            if (!"UP".equals(node.get("availability"))) {
+                continue;
+            }
+            int matching = 0;
+            int busy = 0;
+            for (Map<String, Object> slot : (List<Map<String, Object>>) node.getOrDefault("slots", List.of())) {
+                boolean inUse = slot.get("session") != null;
+                if (inUse) {
+                    busy++;
+                }
+                Map<String, Object> stereotype = (Map<String, Object>) slot.getOrDefault("stereotype", Map.of());
+                if (browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")))
+                        && !(freeOnly && inUse)) {
+                    matching++;
+                }
+            }
+            Object maxSessions = node.get("maxSessions");
+            int limit = maxSessions instanceof Number ? ((Number) maxSessions).intValue() : Integer.MAX_VALUE;
+            total += Math.min(matching, Math.max(0, freeOnly ? limit - busy : limit));
+        }
+        return total;
+    }
+}
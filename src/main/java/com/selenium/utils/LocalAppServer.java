@@ -0,0 +1,184 @@
+package com.selenium.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM stand-in for the application under test, serving local copies of the
+ * login and inventory pages with the same element ids, users and error messages.
+ * Selected with app.mode=local; every response can be delayed by
+ * app.local.latency.ms so timings are repeatable without the network.
+ */
+public final class LocalAppServer {
+    private static final Logger logger = LogManager.getLogger(LocalAppServer.class);
+
+    private static final String SESSION_COOKIE = "session-username";
+    private static final List<String> USERS = Arrays.asList("standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user");
+    private static final String[][] ITEMS = {
+            {"Sauce Labs Backpack", "carry.allTheThings() with the sleek, streamlined Sly Pack.", "29.99"},
+            {"Sauce Labs Bike Light", "A red light isn't the desired state in testing but it sure helps when riding your bike at night.", "9.99"},
+            {"Sauce Labs Bolt T-Shirt", "Get your testing superhero on with the Sauce Labs bolt T-shirt.", "15.99"},
+            {"Sauce Labs Fleece Jacket", "It's not every day that you come across a midweight quarter-zip fleece jacket.", "49.99"},
+            {"Sauce Labs Onesie", "Rib snap infant onesie for the junior automation engineer in development.", "7.99"},
+            {"Test.allTheThings() T-Shirt (Red)", "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard.", "15.99"}
+    };
+
+    private static LocalAppServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final String loginPage;
+    private final String inventoryPage;
+    private final byte[] stylesheet;
+
+    private LocalAppServer(int port, long latencyMillis, long glitchMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.loginPage = resource("login.html").replace("{{GLITCH_MS}}", String.valueOf(glitchMillis));
+        this.inventoryPage = resource("inventory.html").replace("{{ITEMS}}", inventoryItems());
+        this.stylesheet = resource("app.css").getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Sleeping handlers must not hold up each other's requests
+        this.executor = Executors.newCachedThreadPool(ThreadFactories.named("local-app"));
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Start the local app now rather than on first use, so a port clash fails the suite setup
+     */
+    public static synchronized void start() {
+        if (instance == null) {
+            try {
+                FrameworkConfig config = ConfigReader.getConfig();
+                instance = new LocalAppServer(config.getLocalAppPort(), config.getLocalAppLatencyMillis(),
+                        config.getLocalAppGlitchMillis());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start the local app server", e);
+            }
+            logger.info("Local app started at {} with {} ms latency", instance.url(), instance.latencyMillis);
+        }
+    }
+
+    /**
+     * Get the base URL of the local app, starting it on first use
+     */
+    public static synchronized String getUrl() {
+        start();
+        return instance.url();
+    }
+
+    /**
+     * Stop the local app if it was started
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            instance = null;
+            logger.info("Local app stopped");
+        }
+    }
+
+    private String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", new byte[0]);
+            } else if ("/".equals(path) || "/index.html".equals(path)) {
+                send(exchange, 200, "text/html", loginPage.getBytes(StandardCharsets.UTF_8));
+            } else if ("/inventory.html".equals(path)) {
+                if (isLoggedIn(exchange)) {
+                    send(exchange, 200, "text/html", inventoryPage.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    // Like the real app, the inventory sends anonymous visitors back to log in
+                    exchange.getResponseHeaders().add("Location", "/?error=inventory");
+                    send(exchange, 302, "text/plain", new byte[0]);
+                }
+            } else if ("/app.css".equals(path)) {
+                send(exchange, 200, "text/css", stylesheet);
+            } else {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static boolean isLoggedIn(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && SESSION_COOKIE.equals(pair[0]) && USERS.contains(pair[1])
+                        && !"locked_out_user".equals(pair[1])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String inventoryItems() {
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < ITEMS.length; i++) {
+            html.append("<div class=\"inventory_item\" data-test=\"inventory-item\">")
+                    .append("<div class=\"inventory_item_img\"></div>")
+                    .append("<div class=\"inventory_item_description\">")
+                    .append("<a href=\"#\" id=\"item_").append(i).append("_title_link\">")
+                    .append("<div class=\"inventory_item_name\" data-test=\"inventory-item-name\">")
+                    .append(ITEMS[i][0]).append("</div></a>")
+                    .append("<div class=\"inventory_item_desc\">").append(ITEMS[i][1]).append("</div>")
+                    .append("<div class=\"inventory_item_price\">$").append(ITEMS[i][2]).append("</div>")
+                    .append("<button class=\"btn btn_primary btn_inventory\">Add to cart</button>")
+                    .append("</div></div>\n");
+        }
+        return html.toString();
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = LocalAppServer.class.getClassLoader().getResourceAsStream("local-app/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing local app resource local-app/" + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
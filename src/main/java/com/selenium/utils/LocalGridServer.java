@@ -0,0 +1,282 @@
+package com.selenium.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM stand-in for a Selenium Grid hub, selected with grid.url=local. It offers
+ * grid.local.slots slots for each of chrome, firefox and edge, answers /status like a
+ * Selenium 4 hub, queues session requests when its slots are taken, and accepts
+ * sessions after grid.local.session.ms without starting a browser. Commands get empty
+ * answers, so it exercises session scheduling and the driver pool, not page tests.
+ */
+public final class LocalGridServer {
+    private static final Logger logger = LogManager.getLogger(LocalGridServer.class);
+    private static final Json JSON = new Json();
+    private static final String[] BROWSERS = {"chrome", "firefox", "MicrosoftEdge"};
+    private static final long QUEUE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(300);
+
+    private static LocalGridServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int slotsPerBrowser;
+    private final long sessionMillis;
+    private final Map<String, String> sessionBrowsers = new HashMap<>();
+    private final Map<String, String> sessionUrls = new HashMap<>();
+    private int queued;
+    private int peakQueued;
+    private int peakSessions;
+    private int created;
+
+    private LocalGridServer(int port, int slotsPerBrowser, long sessionMillis) throws IOException {
+        this.slotsPerBrowser = slotsPerBrowser;
+        this.sessionMillis = sessionMillis;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Queued session requests block their handler thread, like the hub's new session queue
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-grid");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Get the URL of the stand-in hub, starting it on first use
+     */
+    public static synchronized String getUrl() {
+        if (instance == null) {
+            try {
+                FrameworkConfig config = ConfigReader.getConfig();
+                instance = new LocalGridServer(config.getLocalGridPort(), config.getLocalGridSlots(),
+                        config.getLocalGridSessionMillis());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start the local grid", e);
+            }
+            logger.info("Local grid started at {} with {} slots per browser", instance.url(), instance.slotsPerBrowser);
+        }
+        return instance.url();
+    }
+
+    /**
+     * Stop the stand-in hub if it was started, logging how busy it got
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            synchronized (instance) {
+                logger.info("Local grid stopped: {} sessions created, at most {} running and {} queued at once",
+                        instance.created, instance.peakSessions, instance.peakQueued);
+            }
+            instance = null;
+        }
+    }
+
+    private String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            if ("GET".equals(method) && path.length == 1 && "status".equals(path[0])) {
+                send(exchange, 200, status());
+            } else if ("POST".equals(method) && path.length == 1 && "session".equals(path[0])) {
+                newSession(exchange);
+            } else if (path.length >= 2 && "session".equals(path[0])) {
+                command(exchange, method, path);
+            } else {
+                send(exchange, 404, error("unknown command", "No such endpoint: " + exchange.getRequestURI()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void newSession(HttpExchange exchange) throws IOException, InterruptedException {
+        String browserName;
+        try {
+            Map<String, Object> request = JSON.toType(body(exchange), Json.MAP_TYPE);
+            Map<String, Object> capabilities = (Map<String, Object>) request.getOrDefault("capabilities", Map.of());
+            Map<String, Object> requested = new HashMap<>(
+                    (Map<String, Object>) capabilities.getOrDefault("alwaysMatch", Map.of()));
+            List<Map<String, Object>> firstMatch =
+                    (List<Map<String, Object>>) capabilities.getOrDefault("firstMatch", List.of());
+            if (!firstMatch.isEmpty()) {
+                requested.putAll(firstMatch.get(0));
+            }
+            browserName = String.valueOf(requested.get("browserName"));
+        } catch (JsonException | ClassCastException e) {
+            send(exchange, 400, error("invalid argument", "Unreadable new session request"));
+            return;
+        }
+        if (!List.of(BROWSERS).contains(browserName)) {
+            send(exchange, 500, error("session not created", "No slots for " + browserName));
+            return;
+        }
+
+        String sessionId;
+        synchronized (this) {
+            if (running(browserName) >= slotsPerBrowser) {
+                long deadline = System.currentTimeMillis() + QUEUE_TIMEOUT_MILLIS;
+                queued++;
+                peakQueued = Math.max(peakQueued, queued);
+                try {
+                    while (running(browserName) >= slotsPerBrowser) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            send(exchange, 500, error("session not created", "Timed out in the new session queue"));
+                            return;
+                        }
+                        wait(remaining);
+                    }
+                } finally {
+                    queued--;
+                }
+            }
+            sessionId = UUID.randomUUID().toString().replace("-", "");
+            sessionBrowsers.put(sessionId, browserName);
+            sessionUrls.put(sessionId, "about:blank");
+            created++;
+            peakSessions = Math.max(peakSessions, sessionBrowsers.size());
+        }
+        if (sessionMillis > 0) {
+            TimeUnit.MILLISECONDS.sleep(sessionMillis);
+        }
+
+        Map<String, Object> capabilities = new LinkedHashMap<>();
+        capabilities.put("browserName", browserName);
+        capabilities.put("browserVersion", "stand-in");
+        capabilities.put("platformName", "linux");
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("sessionId", sessionId);
+        value.put("capabilities", capabilities);
+        send(exchange, 200, Map.of("value", value));
+    }
+
+    private void command(HttpExchange exchange, String method, String[] path) throws IOException {
+        String sessionId = path[1];
+        String command = String.join("/", List.of(path).subList(2, path.length));
+        Object value = null;
+        synchronized (this) {
+            if (!sessionBrowsers.containsKey(sessionId)) {
+                send(exchange, 404, error("invalid session id", "No active session " + sessionId));
+                return;
+            }
+            if ("DELETE".equals(method) && command.isEmpty()) {
+                sessionBrowsers.remove(sessionId);
+                sessionUrls.remove(sessionId);
+                notifyAll();
+            } else if ("url".equals(command)) {
+                if ("POST".equals(method)) {
+                    Map<String, Object> request = JSON.toType(body(exchange), Json.MAP_TYPE);
+                    sessionUrls.put(sessionId, String.valueOf(request.get("url")));
+                } else {
+                    value = sessionUrls.get(sessionId);
+                }
+            } else if ("title".equals(command) || "source".equals(command)) {
+                value = "";
+            } else if ("window".equals(command) && "GET".equals(method)) {
+                value = "main";
+            } else if ("window/handles".equals(command)) {
+                value = List.of("main");
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("value", value);
+        send(exchange, 200, response);
+    }
+
+    private int running(String browserName) {
+        int running = 0;
+        for (String browser : sessionBrowsers.values()) {
+            if (browser.equals(browserName)) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    private synchronized Map<String, Object> status() {
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        for (String browser : BROWSERS) {
+            List<Map<String, Object>> slots = new ArrayList<>();
+            List<String> sessions = new ArrayList<>();
+            sessionBrowsers.forEach((id, name) -> {
+                if (name.equals(browser)) {
+                    sessions.add(id);
+                }
+            });
+            for (int i = 0; i < slotsPerBrowser; i++) {
+                Map<String, Object> slot = new LinkedHashMap<>();
+                slot.put("id", Map.of("hostId", browser, "id", browser + "-" + i));
+                slot.put("stereotype", Map.of("browserName", browser));
+                slot.put("session", i < sessions.size() ? Map.of("sessionId", sessions.get(i)) : null);
+                slots.add(slot);
+            }
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("id", browser);
+            node.put("uri", url());
+            node.put("availability", "UP");
+            node.put("maxSessions", slotsPerBrowser);
+            node.put("slots", slots);
+            nodes.add(node);
+        }
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("ready", true);
+        value.put("message", "Local stand-in grid ready.");
+        value.put("nodes", nodes);
+        return Map.of("value", value);
+    }
+
+    private static Map<String, Object> error(String error, String message) {
+        return Map.of("value", Map.of("error", error, "message", message, "stacktrace", ""));
+    }
+
+    private static String body(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, Object> response) throws IOException {
+        // JsonOutput closes what it writes to, so render into a buffer first
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(json)) {
+            out.setPrettyPrint(false).writeClassName(false).write(response);
+        }
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
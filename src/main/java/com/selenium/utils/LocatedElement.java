@@ -0,0 +1,22 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Implemented by page element proxies that know the locator they were declared with
+ */
+public interface LocatedElement {
+
+    /**
+     * Get the locator from the element's @FindBy declaration
+     */
+    By getLocator();
+
+    /**
+     * Get the locator of the element, or null if it is not a located proxy
+     */
+    static By locatorOf(WebElement element) {
+        return element instanceof LocatedElement ? ((LocatedElement) element).getLocator() : null;
+    }
+}
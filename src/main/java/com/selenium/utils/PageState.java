@@ -0,0 +1,70 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of a batched {@link ElementStateQuery}: the document state plus one
+ * {@link ElementState} per queried locator
+ */
+public class PageState {
+    private final String url;
+    private final String title;
+    private final String readyState;
+    private final Map<By, ElementState> elements;
+
+    PageState(String url, String title, String readyState, Map<By, ElementState> elements) {
+        this.url = url;
+        this.title = title;
+        this.readyState = readyState;
+        this.elements = Collections.unmodifiableMap(elements);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getReadyState() {
+        return readyState;
+    }
+
+    public ElementState get(By locator) {
+        ElementState state = elements.get(locator);
+        if (state == null) {
+            throw new IllegalArgumentException("Locator was not part of the query: " + locator);
+        }
+        return state;
+    }
+
+    public ElementState get(WebElement element) {
+        return get(LocatedElement.locatorOf(element));
+    }
+
+    public Map<By, ElementState> getElements() {
+        return elements;
+    }
+
+    /**
+     * Check if every queried element is displayed
+     */
+    public boolean allDisplayed() {
+        for (ElementState state : elements.values()) {
+            if (!state.isDisplayed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PageState{url='" + url + "', readyState='" + readyState + "', elements=" + elements + "}";
+    }
+}
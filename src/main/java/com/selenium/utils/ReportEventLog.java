@@ -0,0 +1,97 @@
+package com.selenium.utils;
+
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only JSONL log of finished tests, one line per test. Each line is flushed
+ * as soon as it is written, so a crashed JVM loses at most the test in flight, and
+ * logs written by different JVMs can be rendered together by {@link ReportHtmlRenderer}.
+ * Not thread-safe; {@link ReportPublisher} writes it from its single thread.
+ */
+public class ReportEventLog implements Closeable {
+    private static final Json JSON = new Json();
+
+    private final Path file;
+    private final String run;
+    private final Writer writer;
+    private int written;
+
+    /**
+     * Create the log file, replacing an older one of the same name
+     * @param run Name of the JVM that writes the log, such as its shard label
+     */
+    public ReportEventLog(Path file, String run) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.run = run;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Append a finished test, waiting for its screenshots to be written
+     */
+    public void append(TestReportContext context) throws IOException {
+        Status status = Status.PASS;
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (TestReportContext.ReportEvent event : context.getEvents()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            if (event.isScreenshot()) {
+                String path = event.awaitScreenshotPath();
+                if (path == null) {
+                    continue;
+                }
+                entry.put("screenshot", path);
+            } else {
+                status = Status.max(status, event.getStatus());
+                entry.put("status", event.getStatus().name());
+                entry.put("message", event.getMessage());
+            }
+            events.add(entry);
+        }
+
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("run", run);
+        test.put("name", context.getName());
+        test.put("parent", context.getParentName());
+        test.put("description", context.getDescription());
+        test.put("status", status.name());
+        test.put("start", context.getStartMillis());
+        test.put("end", context.getEndMillis());
+        test.put("events", events);
+
+        // JsonOutput closes what it writes to, so each line goes through its own buffer
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(line)) {
+            out.setPrettyPrint(false).writeClassName(false).write(test);
+        }
+        writer.write(line.append('\n').toString());
+        writer.flush();
+        written++;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,215 @@
+package com.selenium.utils;
+
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders one HTML report from any number of {@link ReportEventLog} files. The logs
+ * are streamed twice, once for the summary and once for the test entries, so memory
+ * stays flat however many tests they hold. Can be run on its own against the logs of
+ * a crashed or still running suite.
+ */
+public final class ReportHtmlRenderer {
+    private static final Logger logger = LogManager.getLogger(ReportHtmlRenderer.class);
+    private static final Json JSON = new Json();
+
+    private static final String STYLE = "body{font-family:sans-serif;margin:2em;color:#222}"
+            + "details{border:1px solid #ddd;border-radius:4px;margin:4px 0;padding:4px 8px}"
+            + "summary{cursor:pointer}.status{display:inline-block;width:5em;font-weight:bold}"
+            + ".PASS .status{color:#2e7d32}.FAIL .status{color:#c62828}.SKIP .status{color:#ef6c00}"
+            + ".WARNING .status{color:#f9a825}.meta{color:#777;font-size:0.85em;margin-left:1em}"
+            + "li.FAIL{color:#c62828}img{max-width:480px;border:1px solid #ccc}";
+
+    private ReportHtmlRenderer() {
+    }
+
+    /**
+     * Usage: ReportHtmlRenderer report.html events.jsonl|directory...
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ReportHtmlRenderer <report.html> <events.jsonl or directory>...");
+        }
+        List<Path> logs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            logs.addAll(find(Paths.get(args[i])));
+        }
+        render(logs, Paths.get(args[0]), "Selenium POM Framework Test Report");
+    }
+
+    /**
+     * List the event logs in a directory in name order, or the file itself if it is one
+     */
+    public static List<Path> find(Path location) throws IOException {
+        if (!Files.isDirectory(location)) {
+            return Files.isRegularFile(location) ? List.of(location) : List.of();
+        }
+        try (Stream<Path> files = Files.list(location)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jsonl"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Render the given event logs into one HTML file
+     * @return Number of tests rendered
+     */
+    public static int render(List<Path> logs, Path html, String title) throws IOException {
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        TreeSet<String> runs = new TreeSet<>();
+        long[] span = {Long.MAX_VALUE, 0};
+        int tests = forEachTest(logs, test -> {
+            counts.merge(Status.valueOf((String) test.get("status")), 1, Integer::sum);
+            runs.add(String.valueOf(test.get("run")));
+            span[0] = Math.min(span[0], millis(test, "start"));
+            span[1] = Math.max(span[1], millis(test, "end"));
+        });
+
+        Files.createDirectories(html.toAbsolutePath().getParent());
+        Path base = html.toAbsolutePath().getParent();
+        try (Writer out = Files.newBufferedWriter(html, StandardCharsets.UTF_8)) {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>" + escape(title)
+                    + "</title><style>" + STYLE + "</style></head><body>\n");
+            out.write("<h1>" + escape(title) + "</h1>\n<p>" + tests + " tests");
+            for (Map.Entry<Status, Integer> count : counts.entrySet()) {
+                out.write(", " + count.getValue() + " " + count.getKey().toLower());
+            }
+            if (tests > 0) {
+                out.write(" in " + seconds(span[1] - span[0]) + " across " + runs.size() + " run(s): "
+                        + escape(String.join(", ", runs)));
+            }
+            out.write("</p>\n");
+
+            forEachTest(logs, test -> writeTest(out, test, base));
+            out.write("</body></html>\n");
+        }
+        logger.info("Rendered {} tests from {} event logs into {}", tests, logs.size(), html);
+        return tests;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeTest(Writer out, Map<String, Object> test, Path base) throws IOException {
+        String status = (String) test.get("status");
+        String name = test.get("parent") == null ? (String) test.get("name")
+                : test.get("parent") + " \u203A " + test.get("name");
+        long millis = millis(test, "end") - millis(test, "start");
+
+        out.write("<details class=\"" + status + "\"" + ("FAIL".equals(status) ? " open" : "") + "><summary>");
+        out.write("<span class=\"status\">" + status + "</span>" + escape(name));
+        out.write("<span class=\"meta\">" + seconds(millis) + " \u00B7 " + escape(String.valueOf(test.get("run")))
+                + "</span></summary>\n");
+        if (test.get("description") != null && !((String) test.get("description")).isEmpty()) {
+            out.write("<p>" + escape((String) test.get("description")) + "</p>\n");
+        }
+        out.write("<ul>\n");
+        for (Map<String, Object> event : (List<Map<String, Object>>) test.get("events")) {
+            Object screenshot = event.get("screenshot");
+            if (screenshot != null) {
+                String link = escape(relativize(base, (String) screenshot));
+                out.write("<li><a href=\"" + link + "\"><img src=\"" + link + "\" alt=\"screenshot\"></a></li>\n");
+            } else {
+                out.write("<li class=\"" + event.get("status") + "\">" + escape(String.valueOf(event.get("message")))
+                        + "</li>\n");
+            }
+        }
+        out.write("</ul></details>\n");
+    }
+
+    /**
+     * Stream the tests of every log, skipping lines cut short by a crashed JVM
+     * @return Number of tests read
+     */
+    private static int forEachTest(List<Path> logs, TestAction action) throws IOException {
+        int tests = 0;
+        for (Path log : logs) {
+            try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    Map<String, Object> test;
+                    try {
+                        test = JSON.toType(line, Json.MAP_TYPE);
+                    } catch (JsonException e) {
+                        logger.warn("Skipping unreadable line {} of {}", lineNumber, log);
+                        continue;
+                    }
+                    action.accept(test);
+                    tests++;
+                }
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Read a timestamp of a test; a missing end time counts as the start time
+     */
+    private static long millis(Map<String, Object> test, String field) {
+        long start = ((Number) test.get("start")).longValue();
+        Object value = test.get(field);
+        return value instanceof Number ? Math.max(start, ((Number) value).longValue()) : start;
+    }
+
+    private static String relativize(Path base, String path) {
+        try {
+            return base.relativize(Paths.get(path).toAbsolutePath()).toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            return path;
+        }
+    }
+
+    private static String seconds(long millis) {
+        return String.format("%.1f s", Math.max(0, millis) / 1000.0);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private interface TestAction {
+        void accept(Map<String, Object> test) throws IOException;
+    }
+}
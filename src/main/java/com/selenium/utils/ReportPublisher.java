@@ -0,0 +1,107 @@
+package com.selenium.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes finished test contexts to ExtentReports and the JSONL event log from a
+ * single background thread, so test threads never block on the report model
+ */
+public class ReportPublisher {
+    private static final Logger logger = LogManager.getLogger(ReportPublisher.class);
+
+    private final ExtentReports extent;
+    private final ReportEventLog events;
+    private final ExecutorService executor;
+    // Only touched from the publisher thread
+    private final Map<String, ExtentTest> parents = new HashMap<>();
+
+    /**
+     * @param extent In-memory Extent report, or null to only write the event log
+     * @param events Event log, or null to only build the Extent report
+     */
+    public ReportPublisher(ExtentReports extent, ReportEventLog events) {
+        this.extent = extent;
+        this.events = events;
+        this.executor = Executors.newSingleThreadExecutor(ThreadFactories.named("report-publisher"));
+    }
+
+    /**
+     * Queue a finished test context for publishing
+     */
+    public void publish(TestReportContext context) {
+        if (context != null) {
+            executor.execute(() -> write(context));
+        }
+    }
+
+    /**
+     * Publish everything still queued, flush the Extent report and close the event log
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+                logger.warn("Timed out waiting for queued report events to be published");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (extent != null) {
+            extent.flush();
+        }
+        if (events != null) {
+            try {
+                events.close();
+            } catch (IOException e) {
+                logger.error("Failed to close report event log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(TestReportContext context) {
+        if (events != null) {
+            try {
+                events.append(context);
+            } catch (IOException e) {
+                logger.error("Failed to log report events for {}: {}", context.getName(), e.getMessage());
+            }
+        }
+        if (extent == null) {
+            return;
+        }
+        try {
+            ExtentTest test;
+            if (context.getParentName() == null) {
+                test = extent.createTest(context.getName(), context.getDescription());
+            } else {
+                // Extent rolls the worst row status up into the parent entry
+                test = parents.computeIfAbsent(context.getParentKey(),
+                        key -> extent.createTest(context.getParentName(), context.getDescription()))
+                        .createNode(context.getName());
+            }
+            for (TestReportContext.ReportEvent event : context.getEvents()) {
+                if (event.isScreenshot()) {
+                    // Waits for the background write, never for the test thread
+                    String path = event.awaitScreenshotPath();
+                    if (path != null) {
+                        test.addScreenCaptureFromPath(path);
+                    }
+                } else {
+                    test.log(event.getStatus(), event.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish report for {}: {}", context.getName(), e.getMessage());
+        }
+    }
+}
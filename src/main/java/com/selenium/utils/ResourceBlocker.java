@@ -0,0 +1,281 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps assets that tests never look at, such as images, fonts and analytics, from
+ * loading in Chromium browsers. Sends raw Chrome DevTools Protocol commands rather than
+ * the versioned devtools bindings, so it works with any Chrome or Edge version.
+ * URL patterns in resource.block.urls are failed by the browser's network stack with
+ * Network.setBlockedURLs; resource types in resource.block.types are failed, and those
+ * in resource.stub.types or URLs in resource.stub.urls answered with an empty 200,
+ * through Fetch interception. Counts the blocked, stubbed and loaded requests of each
+ * test. Blocked responses are never downloaded, so their size is unknown; the bytes
+ * saved are the difference in loaded bytes against a run with resource.block.enabled=false.
+ */
+public final class ResourceBlocker implements Closeable {
+    private static final Logger logger = LogManager.getLogger(ResourceBlocker.class);
+    private static final Set<String> CHROMIUM = new LinkedHashSet<>(Arrays.asList("chrome", "MicrosoftEdge", "msedge"));
+    static final List<String> RESOURCE_TYPES = Arrays.asList("Document", "Stylesheet", "Image", "Media",
+            "Font", "Script", "TextTrack", "XHR", "Fetch", "Prefetch", "EventSource", "WebSocket", "Manifest",
+            "SignedExchange", "Ping", "CSPViolationReport", "Preflight", "Other");
+    private static final Function<JsonInput, Map<String, Object>> AS_MAP = input -> input.read(Json.MAP_TYPE);
+    // 1x1 transparent GIF, so stubbed images still fire onload
+    private static final String BLANK_GIF = "R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7";
+
+    private static final LongAdder totalBlocked = new LongAdder();
+    private static final LongAdder totalStubbed = new LongAdder();
+    private static final LongAdder totalLoaded = new LongAdder();
+    private static final LongAdder totalBytes = new LongAdder();
+
+    private final DevTools devTools;
+    private final boolean ownsConnection;
+    private final Set<String> stubTypes;
+    private final List<Pattern> stubUrls;
+    private final Set<String> stubbedRequests = ConcurrentHashMap.newKeySet();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong stubbed = new AtomicLong();
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private ResourceBlocker(DevTools devTools, boolean ownsConnection, List<String> blockUrls, Set<String> blockTypes,
+                            Set<String> stubTypes, List<String> stubUrls) {
+        this.devTools = devTools;
+        this.ownsConnection = ownsConnection;
+        this.stubTypes = stubTypes;
+        this.stubUrls = stubUrls.stream().map(ResourceBlocker::toRegex).collect(Collectors.toList());
+
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(new Event<>("Network.loadingFinished", AS_MAP), this::onLoadingFinished);
+        devTools.addListener(new Event<>("Network.loadingFailed", AS_MAP), this::onLoadingFailed);
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        if (!blockUrls.isEmpty()) {
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", blockUrls)));
+        }
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : blockTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String type : stubTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String url : stubUrls) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        if (!patterns.isEmpty()) {
+            devTools.addListener(new Event<>("Fetch.requestPaused", AS_MAP), this::onRequestPaused);
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+    }
+
+    /**
+     * Apply the configured policy to a new driver session
+     * @return The blocker, or null when resource.block.enabled is off or the browser has no DevTools
+     */
+    public static ResourceBlocker attach(WebDriver driver) {
+        FrameworkConfig config = ConfigReader.getConfig();
+        if (!config.isResourceBlockEnabled()) {
+            return null;
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        if (!CHROMIUM.contains(capabilities.getBrowserName())) {
+            logger.warn("Resource blocking needs Chrome or Edge, {} loads every resource", capabilities.getBrowserName());
+            return null;
+        }
+        try {
+            // Grid sessions only offer DevTools once augmented with their se:cdp endpoint
+            boolean local = driver instanceof HasDevTools;
+            DevTools devTools = ((HasDevTools) (local ? driver : new Augmenter().augment(driver))).getDevTools();
+            return new ResourceBlocker(devTools, !local, config.getResourceBlockUrls(),
+                    new LinkedHashSet<>(config.getResourceBlockTypes()), new LinkedHashSet<>(config.getResourceStubTypes()),
+                    config.getResourceStubUrls());
+        } catch (WebDriverException | ClassCastException e) {
+            logger.warn("Resource blocking is off for this session, DevTools is not available: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get and reset the counts of the driver's session since the last call
+     * @return The counts, or null when the session has no blocker
+     */
+    public static Stats takeStats(WebDriver driver) {
+        ResourceBlocker blocker = driver == null ? null : DriverContext.of(driver).getResourceBlocker();
+        if (blocker == null) {
+            return null;
+        }
+        return new Stats(blocker.blocked.getAndSet(0), blocker.stubbed.getAndSet(0), blocker.loaded.getAndSet(0),
+                blocker.bytes.getAndSet(0));
+    }
+
+    /**
+     * Log the requests blocked and loaded over the whole run
+     */
+    public static void logSummary() {
+        long requests = totalBlocked.sum() + totalStubbed.sum() + totalLoaded.sum();
+        if (requests > 0) {
+            logger.info("Resource blocking: {}", new Stats(totalBlocked.sum(), totalStubbed.sum(), totalLoaded.sum(),
+                    totalBytes.sum()));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            devTools.clearListeners();
+            if (ownsConnection) {
+                devTools.close();
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Failed to close DevTools: {}", e.getMessage());
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> event) {
+        if (stubbedRequests.remove(String.valueOf(event.get("requestId")))) {
+            return;
+        }
+        long length = ((Number) event.getOrDefault("encodedDataLength", 0)).longValue();
+        loaded.incrementAndGet();
+        bytes.addAndGet(length);
+        totalLoaded.increment();
+        totalBytes.add(length);
+    }
+
+    private void onLoadingFailed(Map<String, Object> event) {
+        // Network.setBlockedURLs reports its blocks as "inspector"; Fetch blocks are counted when paused
+        if ("inspector".equals(event.get("blockedReason"))) {
+            blocked.incrementAndGet();
+            totalBlocked.increment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        String type = (String) event.get("resourceType");
+        String url = (String) ((Map<String, Object>) event.get("request")).get("url");
+        // Replies are not awaited, the paused request is what waits for them
+        try {
+            if (stubTypes.contains(type) || stubUrls.stream().anyMatch(pattern -> pattern.matcher(url).matches())) {
+                if (event.get("networkId") != null) {
+                    stubbedRequests.add((String) event.get("networkId"));
+                }
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("requestId", requestId);
+                params.put("responseCode", 200);
+                params.put("responseHeaders", List.of(Map.of("name", "Content-Type", "value", contentType(type))));
+                params.put("body", "Image".equals(type) ? BLANK_GIF : "");
+                devTools.send(new Command<>("Fetch.fulfillRequest", params).doesNotSendResponse());
+                stubbed.incrementAndGet();
+                totalStubbed.increment();
+            } else {
+                devTools.send(new Command<>("Fetch.failRequest",
+                        Map.of("requestId", requestId, "errorReason", "BlockedByClient")).doesNotSendResponse());
+                blocked.incrementAndGet();
+                totalBlocked.increment();
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Failed to answer paused request {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static String contentType(String type) {
+        switch (type) {
+            case "Image":
+                return "image/gif";
+            case "Script":
+                return "application/javascript";
+            case "Stylesheet":
+                return "text/css";
+            case "Document":
+                return "text/html";
+            default:
+                return "application/octet-stream";
+        }
+    }
+
+    /**
+     * Convert a CDP URL pattern, where * matches any text and ? one character, to a regex
+     */
+    static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Requests of a session over some period
+     */
+    public static final class Stats {
+        private final long blocked;
+        private final long stubbed;
+        private final long loaded;
+        private final long bytesLoaded;
+
+        Stats(long blocked, long stubbed, long loaded, long bytesLoaded) {
+            this.blocked = blocked;
+            this.stubbed = stubbed;
+            this.loaded = loaded;
+            this.bytesLoaded = bytesLoaded;
+        }
+
+        public long getBlocked() {
+            return blocked;
+        }
+
+        public long getStubbed() {
+            return stubbed;
+        }
+
+        public long getLoaded() {
+            return loaded;
+        }
+
+        public long getBytesLoaded() {
+            return bytesLoaded;
+        }
+
+        @Override
+        public String toString() {
+            return blocked + " requests blocked, " + stubbed + " stubbed, " + loaded + " loaded ("
+                    + (bytesLoaded + 512) / 1024 + " KB)";
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.selenium.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination for screenshot bytes written by {@link ScreenshotWriter}
+ */
+public interface ScreenshotSink {
+
+    /**
+     * Persist the screenshot and return the path the report should link to
+     * @param bytes PNG bytes captured from the driver
+     * @param name Unique screenshot name without extension
+     */
+    Path store(byte[] bytes, String name) throws IOException;
+
+    /**
+     * Sink that writes every screenshot to its own file in the directory
+     */
+    static ScreenshotSink directory(Path directory) {
+        return (bytes, name) -> {
+            Path target = directory.resolve(name + ".png");
+            ScreenshotWriter.writeFully(bytes, target);
+            return target;
+        };
+    }
+}
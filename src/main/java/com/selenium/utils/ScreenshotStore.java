@@ -0,0 +1,362 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed screenshot store. Identical screenshots share a single blob
+ * named after the SHA-256 of the captured bytes; each capture is recorded as an
+ * index entry and optionally a symlink named after the test. Over the size cap the
+ * least recently used blobs of earlier runs are evicted along with their entries.
+ */
+public class ScreenshotStore implements ScreenshotSink {
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+    private static final String BLOB_DIR = "blobs";
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+    private final Path blobDir;
+    private final int maxWidth;
+    private final String format;
+    private final long maxBytes;
+    private final boolean symlinks;
+
+    // Blob sizes by file name in least-recently-used order, the blobs this run links to and the blobs
+    // being written; guarded by this
+    private final LinkedHashMap<String, Long> blobs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> referenced = new HashSet<>();
+    private final Map<String, CompletableFuture<Void>> writing = new HashMap<>();
+    private long totalBytes;
+    private boolean overCapWarned;
+
+    /**
+     * @param root Screenshot directory
+     * @param maxWidth Downscale wider screenshots to this width, 0 to keep the original size
+     * @param format Blob image format, "png" keeps the captured bytes untouched
+     * @param maxBytes Evict least recently used blobs above this size, 0 for no cap
+     * @param symlinks Link each capture's test name to its blob in addition to the index
+     */
+    public ScreenshotStore(Path root, int maxWidth, String format, long maxBytes, boolean symlinks) throws IOException {
+        this.root = root;
+        this.blobDir = root.resolve(BLOB_DIR);
+        this.maxWidth = maxWidth;
+        this.format = format.toLowerCase();
+        this.maxBytes = maxBytes;
+        this.symlinks = symlinks;
+        Files.createDirectories(blobDir);
+        loadExistingBlobs();
+        synchronized (this) {
+            evictOverCap();
+        }
+    }
+
+    @Override
+    public Path store(byte[] bytes, String name) throws IOException {
+        // Blobs are keyed by file name, so a different format after a config change is a different blob
+        String blobName = sha256(bytes) + "." + format;
+        Path blob = blobDir.resolve(blobName);
+
+        // Reserve the blob under the lock, but encode and write it outside, so writer threads run in parallel
+        CompletableFuture<Void> inFlight = null;
+        boolean owner = false;
+        synchronized (this) {
+            referenced.add(blobName);
+            if (blobs.get(blobName) == null) {
+                inFlight = writing.get(blobName);
+                if (inFlight == null) {
+                    inFlight = new CompletableFuture<>();
+                    writing.put(blobName, inFlight);
+                    owner = true;
+                }
+            }
+        }
+
+        if (owner) {
+            writeBlob(bytes, name, blobName, blob, inFlight);
+        } else {
+            if (inFlight != null) {
+                awaitBlob(inFlight, blobName);
+            }
+            synchronized (this) {
+                appendIndex(name, blobName);
+            }
+            logger.debug("Screenshot {} deduplicated to blob {}", name, blobName);
+        }
+        if (symlinks) {
+            link(name, blob);
+        }
+        return blob;
+    }
+
+    private void writeBlob(byte[] bytes, String name, String blobName, Path blob, CompletableFuture<Void> inFlight)
+            throws IOException {
+        try {
+            byte[] encoded = reencode(bytes);
+            Path temp = Files.createTempFile(blobDir, blobName, TEMP_SUFFIX);
+            try {
+                ScreenshotWriter.writeFully(encoded, temp);
+                Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            synchronized (this) {
+                writing.remove(blobName);
+                blobs.put(blobName, (long) encoded.length);
+                totalBytes += encoded.length;
+                appendIndex(name, blobName);
+                evictOverCap();
+            }
+            inFlight.complete(null);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                writing.remove(blobName);
+            }
+            inFlight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for another thread that is writing the same blob
+     */
+    private static void awaitBlob(CompletableFuture<Void> inFlight, String blobName) throws IOException {
+        try {
+            inFlight.join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to write screenshot blob " + blobName, e.getCause());
+        }
+    }
+
+    /**
+     * Get the total size of the stored blobs in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void loadExistingBlobs() throws IOException {
+        try (Stream<Path> files = Files.list(blobDir)) {
+            files.filter(Files::isRegularFile).sorted(Comparator.comparingLong(this::lastModified)).forEach(file -> {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    // Left behind by a run that stopped mid-write
+                    deleteQuietly(file);
+                    return;
+                }
+                long size = file.toFile().length();
+                blobs.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            });
+        }
+    }
+
+    /**
+     * Delete least recently used blobs until the store is under its cap, with the index rows
+     * and links that point at them. Blobs this run links to are kept, since the report does too.
+     */
+    private void evictOverCap() {
+        if (maxBytes <= 0 || totalBytes <= maxBytes) {
+            return;
+        }
+        Set<String> evicted = new HashSet<>();
+        Iterator<Map.Entry<String, Long>> eldest = blobs.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (referenced.contains(entry.getKey())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(blobDir.resolve(entry.getKey()));
+                totalBytes -= entry.getValue();
+                eldest.remove();
+                evicted.add(entry.getKey());
+                logger.info("Evicted screenshot blob {} to stay under {} bytes", entry.getKey(), maxBytes);
+            } catch (IOException e) {
+                logger.warn("Failed to evict screenshot blob {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        if (totalBytes > maxBytes && !overCapWarned) {
+            overCapWarned = true;
+            logger.warn("Screenshot store holds {} bytes, over its cap of {}, in blobs this run links to",
+                    totalBytes, maxBytes);
+        }
+        if (!evicted.isEmpty()) {
+            pruneIndex(evicted);
+        }
+    }
+
+    private void appendIndex(String name, String blobName) throws IOException {
+        String line = Instant.now() + "\t" + name + "\t" + blobName + "\n";
+        try (FileChannel channel = FileChannel.open(root.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Drop the index rows of evicted blobs and delete their links
+     */
+    private void pruneIndex(Set<String> evicted) {
+        Path index = root.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return;
+        }
+        try {
+            List<String> kept = new ArrayList<>();
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                String[] columns = line.split("\t");
+                String blobName = columns.length < 3 ? null : evictedBlob(columns[2], evicted);
+                if (blobName == null) {
+                    kept.add(line);
+                    continue;
+                }
+                Path link = root.resolve(columns[1] + blobName.substring(blobName.lastIndexOf('.')));
+                if (Files.isSymbolicLink(link)) {
+                    Files.delete(link);
+                }
+            }
+            Path rewritten = root.resolve(INDEX_FILE + ".tmp");
+            Files.write(rewritten, kept, StandardCharsets.UTF_8);
+            Files.move(rewritten, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to prune the screenshot index of evicted blobs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Match an index row's blob to an evicted one; rows written before blobs were keyed by
+     * file name hold just the hash
+     */
+    private static String evictedBlob(String indexed, Set<String> evicted) {
+        if (evicted.contains(indexed)) {
+            return indexed;
+        }
+        for (String blobName : evicted) {
+            if (blobName.startsWith(indexed + ".")) {
+                return blobName;
+            }
+        }
+        return null;
+    }
+
+    private void link(String name, Path blob) {
+        String blobName = blob.getFileName().toString();
+        Path link = root.resolve(name + blobName.substring(blobName.lastIndexOf('.')));
+        try {
+            Files.createSymbolicLink(link, root.relativize(blob));
+        } catch (FileAlreadyExistsException e) {
+            logger.debug("Screenshot link already exists: {}", link);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("Symlinks unavailable, relying on the index for {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Downscale and/or convert the captured PNG when configured to
+     */
+    private byte[] reencode(byte[] bytes) throws IOException {
+        if (maxWidth <= 0 && "png".equals(format)) {
+            return bytes;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (image == null) {
+            return bytes;
+        }
+        if (maxWidth > 0 && image.getWidth() > maxWidth) {
+            int height = (int) Math.round(image.getHeight() * (maxWidth / (double) image.getWidth()));
+            BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, maxWidth, height, null);
+            graphics.dispose();
+            image = scaled;
+        } else if (!"png".equals(format) && image.getType() != BufferedImage.TYPE_INT_RGB) {
+            // JPEG has no alpha channel
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            image = rgb;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for format: " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            if (params.canWriteCompressed() && !"png".equals(format)) {
+                params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setCompressionQuality(0.8f);
+            }
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long lastModified(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
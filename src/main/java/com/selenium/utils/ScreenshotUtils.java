@@ -1,49 +1,57 @@
 package com.selenium.utils;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility class for taking and managing screenshots
  */
 public class ScreenshotUtils {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static volatile ScreenshotWriter writer;
 
     /**
      * Take a screenshot and save it to the specified path
      * @param driver WebDriver instance
      * @param testName Name of the test for screenshot naming
-     * @return Path to the saved screenshot
+     * @return Path to the saved screenshot, or null if it could not be taken or written
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
+        return takeScreenshotAsync(driver, testName).join();
+    }
+
+    /**
+     * Capture a screenshot and queue it for writing in the background
+     * @param driver WebDriver instance
+     * @param testName Name of the test for screenshot naming
+     * @return Future path that completes once the screenshot is on disk, or with null if it failed
+     */
+    public static CompletableFuture<String> takeScreenshotAsync(WebDriver driver, String testName) {
+        byte[] bytes;
         try {
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            String fileName = testName + "_" + timestamp + ".png";
-            String screenshotPath = ConfigReader.getScreenshotsPath() + fileName;
-            
-            File destFile = new File(screenshotPath);
-            destFile.getParentFile().mkdirs(); // Create directories if they don't exist
-            
-            FileUtils.copyFile(sourceFile, destFile);
-            logger.info("Screenshot saved: {}", screenshotPath);
-            
-            return screenshotPath;
-        } catch (IOException e) {
+            bytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
             logger.error("Failed to take screenshot: {}", e.getMessage());
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
+
+        // Rows of a parallel data provider can fail within the same second, so the sequence keeps names unique
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        return getWriter().write(bytes, testName + "_" + timestamp + "_" + sequence.incrementAndGet());
     }
 
     /**
@@ -55,4 +63,61 @@ public class ScreenshotUtils {
     public static String takeScreenshotOnFailure(WebDriver driver, String testName) {
         return takeScreenshot(driver, testName + "_FAILED");
     }
+
+    /**
+     * Take a screenshot on test failure without waiting for the disk write
+     * @param driver WebDriver instance
+     * @param testName Name of the failed test
+     * @return Future path that completes once the screenshot is on disk
+     */
+    public static CompletableFuture<String> takeScreenshotOnFailureAsync(WebDriver driver, String testName) {
+        return takeScreenshotAsync(driver, testName + "_FAILED");
+    }
+
+    /**
+     * Wait for all queued screenshots to be written
+     */
+    public static synchronized void awaitPendingWrites() {
+        if (writer != null) {
+            writer.drain(ConfigReader.getConfig().getScreenshotDrainTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            writer = null;
+        }
+    }
+
+    /**
+     * Use the deduplicating store when enabled, otherwise one file per screenshot
+     */
+    private static ScreenshotSink createSink() {
+        Path directory = Paths.get(ConfigReader.getScreenshotsPath());
+        if (ShardPlan.isSharded()) {
+            // Local shards run side by side, so each keeps its own files, blobs and index
+            directory = directory.resolve(ShardPlan.label());
+        }
+        FrameworkConfig config = ConfigReader.getConfig();
+        if (!config.isScreenshotStoreEnabled()) {
+            return ScreenshotSink.directory(directory);
+        }
+        try {
+            return new ScreenshotStore(directory, config.getScreenshotStoreMaxWidth(), config.getScreenshotStoreFormat(),
+                    config.getScreenshotStoreMaxBytes(), config.isScreenshotStoreSymlinks());
+        } catch (IOException e) {
+            logger.warn("Screenshot store unavailable ({}), writing plain files", e.getMessage());
+            return ScreenshotSink.directory(directory);
+        }
+    }
+
+    private static ScreenshotWriter getWriter() {
+        ScreenshotWriter current = writer;
+        if (current == null) {
+            synchronized (ScreenshotUtils.class) {
+                if (writer == null) {
+                    FrameworkConfig config = ConfigReader.getConfig();
+                    writer = new ScreenshotWriter(config.getScreenshotWriterThreads(),
+                            config.getScreenshotQueueCapacity(), config.getScreenshotBackpressure(), createSink());
+                }
+                current = writer;
+            }
+        }
+        return current;
+    }
 }
@@ -0,0 +1,141 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes captured screenshots to disk on a bounded pool of background threads
+ */
+public class ScreenshotWriter {
+    private static final Logger logger = LogManager.getLogger(ScreenshotWriter.class);
+
+    /**
+     * What to do when the write queue is full
+     */
+    public enum Backpressure {
+        /** Block the capturing thread until the queue has room */
+        BLOCK,
+        /** Write on the capturing thread */
+        CALLER_RUNS,
+        /** Drop the screenshot and log a warning */
+        DROP
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final ScreenshotSink sink;
+
+    public ScreenshotWriter(int threads, int queueCapacity, Backpressure backpressure, ScreenshotSink sink) {
+        this.sink = sink;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), ThreadFactories.named("screenshot-writer"),
+                rejectionHandler(backpressure));
+    }
+
+    /**
+     * Queue the bytes for writing and return a future that completes with the
+     * written path, or null if the write was dropped or failed; it never completes
+     * exceptionally, failures are logged here
+     */
+    public CompletableFuture<String> write(byte[] bytes, String name) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            executor.execute(new WriteTask(bytes, name, future));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Screenshot dropped ({}): {}", e.getMessage(), name);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    /**
+     * Wait for every queued screenshot to be written
+     */
+    public void drain(long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, unit)) {
+                logger.warn("Timed out with {} screenshots still queued", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(Backpressure backpressure) {
+        switch (backpressure) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case DROP:
+                return (runnable, executor) -> {
+                    throw new RejectedExecutionException("write queue full");
+                };
+            case BLOCK:
+            default:
+                return (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("writer shut down");
+                    }
+                    try {
+                        executor.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("interrupted while queueing", e);
+                    }
+                };
+        }
+    }
+
+    /**
+     * Write the bytes to the target file through a FileChannel
+     */
+    static void writeFully(byte[] bytes, Path target) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private class WriteTask implements Runnable {
+        private final byte[] bytes;
+        private final String name;
+        private final CompletableFuture<String> future;
+
+        private WriteTask(byte[] bytes, String name, CompletableFuture<String> future) {
+            this.bytes = bytes;
+            this.name = name;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Path target = sink.store(bytes, name);
+                logger.info("Screenshot saved: {}", target);
+                future.complete(target.toString());
+            } catch (IOException | RuntimeException e) {
+                // Reported here, so callers only see a missing path, the same as a dropped write
+                logger.error("Failed to write screenshot {}: {}", name, e.getMessage());
+                future.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of an authenticated browser session: cookies, localStorage and
+ * sessionStorage of the application origin plus the page the session was on
+ */
+public class SessionState {
+    private final String origin;
+    private final String landingUrl;
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt;
+
+    SessionState(String origin, String landingUrl, Set<Cookie> cookies,
+                 Map<String, String> localStorage, Map<String, String> sessionStorage, Instant capturedAt) {
+        this.origin = origin;
+        this.landingUrl = landingUrl;
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getLandingUrl() {
+        return landingUrl;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Check if the snapshot is older than the TTL or holds a cookie that has expired
+     */
+    public boolean isExpired(Instant now, long ttlSeconds) {
+        if (ttlSeconds > 0 && capturedAt.plusSeconds(ttlSeconds).isBefore(now)) {
+            return true;
+        }
+        Date date = Date.from(now);
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionState{origin='" + origin + "', cookies=" + cookies.size()
+                + ", localStorage=" + localStorage.size() + ", sessionStorage=" + sessionStorage.size()
+                + ", capturedAt=" + capturedAt + "}";
+    }
+}
@@ -0,0 +1,148 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the session state of logged-in users so that tests which only need an
+ * authenticated page can inject it instead of logging in through the UI
+ */
+public final class SessionStateCache {
+    private static final Logger logger = LogManager.getLogger(SessionStateCache.class);
+    private static final String CAPTURE_SCRIPT =
+            "function copy(storage) {"
+            + "  var values = {};"
+            + "  for (var i = 0; i < storage.length; i++) { values[storage.key(i)] = storage.getItem(storage.key(i)); }"
+            + "  return values;"
+            + "}"
+            + "return {local: copy(window.localStorage), session: copy(window.sessionStorage)};";
+    private static final String RESTORE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "for (var key in local) { window.localStorage.setItem(key, local[key]); }"
+            + "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+    private static final Map<String, SessionState> states = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private SessionStateCache() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getConfig().isSessionCacheEnabled();
+    }
+
+    /**
+     * Check if restored sessions should be checked before they are trusted
+     */
+    public static boolean isValidationEnabled() {
+        return ConfigReader.getConfig().isSessionCacheValidate();
+    }
+
+    /**
+     * Capture the session of the page the driver is on, which must be logged in as the user
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionState capture(WebDriver driver, String username) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        String url = driver.getCurrentUrl();
+        SessionState state = new SessionState(originOf(url), url, driver.manage().getCookies(),
+                toStrings((Map<String, Object>) storage.get("local")),
+                toStrings((Map<String, Object>) storage.get("session")), Instant.now());
+        states.put(username, state);
+        logger.debug("Captured session for {}: {}", username, state);
+        return state;
+    }
+
+    /**
+     * Inject the cached session of the user and open the page it was captured on
+     * @return false if there is no usable session for the user
+     */
+    public static boolean restore(WebDriver driver, String username) {
+        SessionState state = states.get(username);
+        if (state == null || state.isExpired(Instant.now(), ConfigReader.getConfig().getSessionCacheTtlSeconds())) {
+            if (state != null) {
+                states.remove(username, state);
+            }
+            misses.increment();
+            return false;
+        }
+
+        // Cookies and storage can only be set for the origin the driver is on
+        if (!state.getOrigin().equals(originOf(driver.getCurrentUrl()))) {
+            driver.get(state.getOrigin());
+        }
+        for (Cookie cookie : state.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        if (!state.getLocalStorage().isEmpty() || !state.getSessionStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT,
+                    state.getLocalStorage(), state.getSessionStorage());
+        }
+        driver.get(state.getLandingUrl());
+        hits.increment();
+        logger.debug("Restored session for {}", username);
+        return true;
+    }
+
+    /**
+     * Check if the user has a cached session that has not expired
+     */
+    public static boolean isCached(String username) {
+        SessionState state = states.get(username);
+        return state != null && !state.isExpired(Instant.now(), ConfigReader.getConfig().getSessionCacheTtlSeconds());
+    }
+
+    /**
+     * Drop the cached session of the user, for example after it failed validation
+     */
+    public static void invalidate(String username) {
+        states.remove(username);
+    }
+
+    public static void clear() {
+        states.clear();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Log how many logins were served from the cache
+     */
+    public static void logSummary() {
+        if (hits.sum() + misses.sum() > 0) {
+            logger.info("Session cache: {} restored, {} UI logins, {} users cached", hits.sum(), misses.sum(), states.size());
+        }
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+    }
+
+    private static Map<String, String> toStrings(Map<String, Object> values) {
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> strings = new LinkedHashMap<>();
+        values.forEach((key, value) -> strings.put(key, String.valueOf(value)));
+        return strings;
+    }
+}
@@ -0,0 +1,145 @@
+package com.selenium.utils;
+
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Splits a suite across shard.total JVMs. Plain test methods are assigned whole,
+ * longest first, to the least loaded shard; data-provider methods run on every
+ * shard with their rows dealt out by index. The plan depends only on the suite and
+ * the duration estimates, so every shard computes the same one as long as all of
+ * them start from the same duration history.
+ */
+public final class ShardPlan {
+    private final int index;
+    private final int total;
+    private final Map<String, Integer> assignments;
+    private final double[] loads;
+
+    private ShardPlan(int index, int total, Map<String, Integer> assignments, double[] loads) {
+        this.index = index;
+        this.total = total;
+        this.assignments = assignments;
+        this.loads = loads;
+    }
+
+    public static int index() {
+        return ConfigReader.getConfig().getShardIndex();
+    }
+
+    public static int total() {
+        return ConfigReader.getConfig().getShardTotal();
+    }
+
+    public static boolean isSharded() {
+        return total() > 1;
+    }
+
+    /**
+     * Name of this JVM's shard for output files, such as shard-0-of-4
+     */
+    public static String label() {
+        return "shard-" + index() + "-of-" + total();
+    }
+
+    /**
+     * Plan the given test methods across the configured shards
+     * @param estimate Expected total duration of a method in ms, all its rows included
+     */
+    public static ShardPlan create(Collection<ITestNGMethod> methods, ToDoubleFunction<ITestNGMethod> estimate) {
+        return create(methods, estimate, index(), total());
+    }
+
+    static ShardPlan create(Collection<ITestNGMethod> methods, ToDoubleFunction<ITestNGMethod> estimate,
+                            int index, int total) {
+        double[] loads = new double[total];
+        Map<String, Integer> assignments = new TreeMap<>();
+        List<ITestNGMethod> whole = new ArrayList<>();
+        Map<ITestNGMethod, Double> estimates = new HashMap<>();
+        for (ITestNGMethod method : methods) {
+            double millis = estimate.applyAsDouble(method);
+            if (method.isDataDriven()) {
+                // Rows are spread evenly, so every shard carries an equal part of the method
+                for (int shard = 0; shard < total; shard++) {
+                    loads[shard] += millis / total;
+                }
+            } else {
+                estimates.put(method, millis);
+                whole.add(method);
+            }
+        }
+
+        // Ties are broken by name so every JVM sorts the methods the same way
+        whole.sort(Comparator.comparingDouble((ITestNGMethod method) -> estimates.get(method)).reversed()
+                .thenComparing(ShardPlan::key));
+        for (ITestNGMethod method : whole) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += estimates.get(method);
+            assignments.put(key(method), lightest);
+        }
+        return new ShardPlan(index, total, assignments, loads);
+    }
+
+    /**
+     * Check if this shard runs the given method, or some of its rows for a data-provider method
+     */
+    public boolean owns(ITestNGMethod method) {
+        Integer shard = assignments.get(key(method));
+        if (shard == null) {
+            // Methods missing from the plan fall back to a hash so they still run on exactly one shard
+            return method.isDataDriven() || Math.floorMod(key(method).hashCode(), total) == index;
+        }
+        return shard == index;
+    }
+
+    /**
+     * Check if this shard runs the given data-provider row. Each method starts dealing
+     * at a different shard so the spare rows of short providers do not all land on shard 0.
+     */
+    public boolean ownsRow(ITestNGMethod method, int row) {
+        return Math.floorMod(row + key(method).hashCode(), total) == index;
+    }
+
+    /**
+     * Get the estimated total duration of this shard's share of the suite in ms
+     */
+    public double getLoad() {
+        return loads[index];
+    }
+
+    /**
+     * Get the estimated duration of the busiest shard in ms
+     */
+    public double getMaxLoad() {
+        double max = 0;
+        for (double load : loads) {
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+
+    /**
+     * Short hash of all assignments; shards of one run must log the same value
+     */
+    public String fingerprint() {
+        return String.format("%08x", assignments.hashCode());
+    }
+
+    private static String key(ITestNGMethod method) {
+        String test = method.getXmlTest() == null ? "" : method.getXmlTest().getName();
+        return test + "/" + method.getQualifiedName();
+    }
+}
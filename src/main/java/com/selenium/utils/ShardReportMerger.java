@@ -0,0 +1,116 @@
+package com.selenium.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the outputs of a sharded run once every shard has finished: the
+ * ExtentReports JSON archives and the JSONL event logs under reports.path/shards
+ * each become one HTML report, and the per-shard durations under the history's runs directory are folded into
+ * the duration history. Run it from the directory the shard outputs were collected in.
+ */
+public class ShardReportMerger {
+    private static final Logger logger = LogManager.getLogger(ShardReportMerger.class);
+
+    public static void main(String[] args) throws IOException {
+        Path reports = Paths.get(args.length > 0 ? args[0] : ConfigReader.getReportsPath());
+        mergeReports(reports);
+        mergeEventLogs(reports);
+        mergeDurations(ConfigReader.getConfig().getSchedulerHistoryPath(),
+                ConfigReader.getConfig().getSchedulerHistoryAlpha());
+    }
+
+    /**
+     * Build one Spark report from the shard archives in the shards directory of the given reports directory
+     * @return The merged report, or null if no shard archives were found
+     */
+    public static Path mergeReports(Path reports) throws IOException {
+        List<Path> archives = list(reports.resolve("shards"), ".json");
+        if (archives.isEmpty()) {
+            logger.info("No Extent shard archives found in {}", reports.resolve("shards"));
+            return null;
+        }
+        Path merged = reports.resolve("TestReport_merged_" + timestamp() + ".html");
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(merged.toString());
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setDocumentTitle("Selenium POM Framework Test Report");
+        sparkReporter.config().setReportName("Login Test Automation Report (" + archives.size() + " shards)");
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        for (Path archive : archives) {
+            extent.createDomainFromJsonArchive(archive.toFile());
+        }
+        extent.flush();
+        logger.info("Merged {} shard reports into {}", archives.size(), merged);
+        return merged;
+    }
+
+    /**
+     * Render the shard event logs in the shards directory of the given reports directory as one report
+     * @return The merged report, or null if no shard event logs were found
+     */
+    public static Path mergeEventLogs(Path reports) throws IOException {
+        List<Path> logs = ReportHtmlRenderer.find(reports.resolve("shards"));
+        if (logs.isEmpty()) {
+            logger.info("No shard event logs found in {}", reports.resolve("shards"));
+            return null;
+        }
+        Path merged = reports.resolve("TestEvents_merged_" + timestamp() + ".html");
+        ReportHtmlRenderer.render(logs, merged, "Selenium POM Framework Test Report (" + logs.size() + " shards)");
+        return merged;
+    }
+
+    /**
+     * Fold the durations measured by the shards into the history and delete the shard files
+     */
+    public static void mergeDurations(Path historyFile, double alpha) throws IOException {
+        List<Path> runs = list(historyFile.toAbsolutePath().resolveSibling("runs"), ".properties");
+        if (runs.isEmpty()) {
+            return;
+        }
+        // Rows of a data-provider method are split across shards, so their times add up
+        Map<String, Long> measured = new TreeMap<>();
+        for (Path run : runs) {
+            TestDurationHistory.loadRun(run).forEach((test, millis) -> measured.merge(test, millis, Long::sum));
+        }
+        TestDurationHistory history = new TestDurationHistory(historyFile, alpha).load();
+        history.update(measured);
+        history.save();
+        for (Path run : runs) {
+            Files.delete(run);
+        }
+        logger.info("Merged durations of {} shards into {}", runs.size(), historyFile);
+    }
+
+    private static String timestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+    }
+
+    private static List<Path> list(Path directory, String extension) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(extension))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of step latency histograms labelled by kind (command, wait or action),
+ * step name, page class and test. The page and test are tracked per thread, so
+ * recording a step is a map lookup plus a few atomic adds.
+ */
+public final class StepMetrics {
+    public static final String COMMAND = "command";
+    public static final String WAIT = "wait";
+    public static final String ACTION = "action";
+
+    private static final Logger logger = LogManager.getLogger(StepMetrics.class);
+    private static final String NONE = "none";
+    private static final boolean ENABLED = ConfigReader.getConfig().isMetricsEnabled();
+    private static final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String[]> scope = ThreadLocal.withInitial(() -> new String[] {NONE, NONE});
+
+    private StepMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Attribute steps on this thread to the test until {@link #endTest()}
+     */
+    public static void startTest(String test) {
+        String[] current = scope.get();
+        current[0] = NONE;
+        current[1] = test;
+    }
+
+    public static void endTest() {
+        scope.remove();
+    }
+
+    /**
+     * Mark the start of a page action, attributing later steps on this thread to the page
+     * @return start time to pass to {@link #record}
+     */
+    public static long startAction(String page) {
+        scope.get()[0] = page;
+        return System.nanoTime();
+    }
+
+    /**
+     * Record a step that started at the given {@link System#nanoTime()}
+     */
+    public static void record(String kind, String name, long startNanos) {
+        recordNanos(kind, name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Record a step of the given duration
+     */
+    public static void recordNanos(String kind, String name, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        String[] current = scope.get();
+        Key key = new Key(kind, name, current[0], current[1]);
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Get the histograms recorded so far, sorted by labels
+     */
+    public static Map<Key, LatencyHistogram> snapshot() {
+        Map<Key, LatencyHistogram> sorted = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::toString)))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Write step-metrics.json and step-metrics.prom (Prometheus text format) to the directory
+     */
+    public static void export(Path directory) {
+        if (!ENABLED || histograms.isEmpty()) {
+            return;
+        }
+        Map<Key, LatencyHistogram> snapshot = snapshot();
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("step-metrics.json"),
+                    toJson(snapshot).getBytes(StandardCharsets.UTF_8));
+            try (Writer writer = Files.newBufferedWriter(directory.resolve("step-metrics.prom"), StandardCharsets.UTF_8)) {
+                writePrometheus(snapshot, writer);
+            }
+            logger.info("Step metrics for {} series written to {}", snapshot.size(), directory);
+        } catch (IOException e) {
+            logger.error("Failed to write step metrics: {}", e.getMessage());
+        }
+    }
+
+    static String toJson(Map<Key, LatencyHistogram> snapshot) {
+        List<Map<String, Object>> series = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("kind", key.kind);
+            entry.put("name", key.name);
+            entry.put("page", key.page);
+            entry.put("test", key.test);
+            entry.put("count", histogram.getCount());
+            entry.put("meanMs", histogram.getMeanMillis());
+            entry.put("p50Ms", histogram.getPercentileMillis(50));
+            entry.put("p95Ms", histogram.getPercentileMillis(95));
+            entry.put("p99Ms", histogram.getPercentileMillis(99));
+            entry.put("maxMs", histogram.getMaxNanos() / 1_000_000.0);
+            entry.put("totalMs", histogram.getTotalNanos() / 1_000_000.0);
+            series.add(entry);
+        });
+        return new Json().toJson(series);
+    }
+
+    static void writePrometheus(Map<Key, LatencyHistogram> snapshot, Writer writer) throws IOException {
+        writer.write("# HELP selenium_step_duration_seconds Duration of WebDriver commands, waits and page actions\n");
+        writer.write("# TYPE selenium_step_duration_seconds histogram\n");
+        for (Map.Entry<Key, LatencyHistogram> entry : snapshot.entrySet()) {
+            String labels = entry.getKey().toLabels();
+            LatencyHistogram histogram = entry.getValue();
+            long[] buckets = histogram.getBucketCounts();
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                writer.write("selenium_step_duration_seconds_bucket{" + labels + ",le=\""
+                        + LatencyHistogram.bucketUpperBoundMicros(i) / 1_000_000.0 + "\"} " + cumulative + "\n");
+            }
+            writer.write("selenium_step_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} " + cumulative + "\n");
+            writer.write("selenium_step_duration_seconds_sum{" + labels + "} "
+                    + histogram.getTotalNanos() / 1_000_000_000.0 + "\n");
+            writer.write("selenium_step_duration_seconds_count{" + labels + "} " + cumulative + "\n");
+        }
+    }
+
+    /**
+     * Labels of one histogram series
+     */
+    public static final class Key {
+        private final String kind;
+        private final String name;
+        private final String page;
+        private final String test;
+        private final int hash;
+
+        Key(String kind, String name, String page, String test) {
+            this.kind = kind;
+            this.name = name;
+            this.page = page;
+            this.test = test;
+            this.hash = Objects.hash(kind, name, page, test);
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        String toLabels() {
+            return "kind=\"" + escape(kind) + "\",name=\"" + escape(name) + "\",page=\"" + escape(page)
+                    + "\",test=\"" + escape(test) + "\"";
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && kind.equals(other.kind) && name.equals(other.name)
+                    && page.equals(other.page) && test.equals(other.test);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return kind + "/" + name + "/" + page + "/" + test;
+        }
+    }
+}
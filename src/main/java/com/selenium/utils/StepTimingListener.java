@@ -0,0 +1,81 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Times every WebDriver, WebElement, navigation and options call of a decorated
+ * driver and records it in {@link StepMetrics} as a command
+ */
+public class StepTimingListener implements WebDriverListener {
+    private static final int MAX_DEPTH = 16;
+
+    private final ThreadLocal<CallStack> calls = ThreadLocal.withInitial(CallStack::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        calls.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        long start = calls.get().pop();
+        if (start != 0) {
+            StepMetrics.record(StepMetrics.COMMAND, commandName(target, method), start);
+        }
+    }
+
+    static String commandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else if (target instanceof WebDriver.Navigation) {
+            type = "Navigation";
+        } else if (target instanceof Alert) {
+            type = "Alert";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+
+    /**
+     * Start times of the calls in progress on one thread; calls nest when listeners or
+     * decorated arguments call back into the driver
+     */
+    private static final class CallStack {
+        private final long[] starts = new long[MAX_DEPTH];
+        private int depth;
+
+        void push(long start) {
+            if (depth < MAX_DEPTH) {
+                starts[depth] = start;
+            }
+            depth++;
+        }
+
+        long pop() {
+            if (depth == 0) {
+                return 0;
+            }
+            depth--;
+            return depth < MAX_DEPTH ? starts[depth] : 0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Per-test duration estimates kept between runs as an exponentially weighted
+ * moving average of each test method's total time, setup and teardown included
+ */
+public class TestDurationHistory {
+    private static final Logger logger = LogManager.getLogger(TestDurationHistory.class);
+
+    private final Path file;
+    private final double alpha;
+    private final Map<String, Double> estimates = new TreeMap<>();
+
+    public TestDurationHistory(Path file, double alpha) {
+        this.file = file;
+        this.alpha = Math.min(1.0, Math.max(0.01, alpha));
+    }
+
+    /**
+     * Load the history file written by an earlier run, if any
+     */
+    public TestDurationHistory load() {
+        if (!Files.isRegularFile(file)) {
+            return this;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable test duration history {}: {}", file, e.getMessage());
+            return this;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                estimates.put(key, Double.parseDouble(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring bad duration for {} in {}", key, file);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get the estimated duration of a test method in milliseconds, or the default if it has not run before
+     */
+    public double estimate(String test, double defaultMillis) {
+        Double estimate = estimates.get(test);
+        return estimate == null ? defaultMillis : estimate;
+    }
+
+    /**
+     * Get the median estimate, a reasonable guess for tests that have never run
+     */
+    public double median(double defaultMillis) {
+        if (estimates.isEmpty()) {
+            return defaultMillis;
+        }
+        List<Double> values = new ArrayList<>(estimates.values());
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    /**
+     * Fold the durations measured in this run into the estimates
+     */
+    public void update(Map<String, Long> measuredMillis) {
+        measuredMillis.forEach((test, millis) -> {
+            Double previous = estimates.get(test);
+            estimates.put(test, previous == null ? millis : alpha * millis + (1 - alpha) * previous);
+        });
+    }
+
+    /**
+     * Write the estimates, replacing the file atomically so a crashed run cannot truncate it
+     */
+    public void save() throws IOException {
+        write(file, "Test method durations in ms (moving average), used to order tests longest-first", estimates);
+    }
+
+    /**
+     * Write the raw durations measured by one shard, to be folded into the history once all shards finish
+     */
+    public static void saveRun(Path runFile, Map<String, Long> measuredMillis) throws IOException {
+        write(runFile, "Test method durations in ms measured by one shard", measuredMillis);
+    }
+
+    /**
+     * Read the durations written by {@link #saveRun}
+     */
+    public static Map<String, Long> loadRun(Path runFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(runFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Long> run = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                run.put(key, Long.parseLong(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring bad duration for {} in {}", key, runFile);
+            }
+        }
+        return run;
+    }
+
+    private static void write(Path target, String comment, Map<String, ? extends Number> millis) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# " + comment + "\n");
+            for (Map.Entry<String, ? extends Number> entry : millis.entrySet()) {
+                writer.write(entry.getKey() + "=" + Math.round(entry.getValue().doubleValue()) + "\n");
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Map<String, Double> getEstimates() {
+        return Collections.unmodifiableMap(estimates);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
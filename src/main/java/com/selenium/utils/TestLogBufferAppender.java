@@ -0,0 +1,111 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers log events per test, keyed by the "test" ThreadContext entry, and writes
+ * them to a per-test file only when asked to. Tests signal the end of their buffer
+ * with a {@link #FLUSH} or {@link #DISCARD} marker event, which is ordered after
+ * the test's own events even when logging is asynchronous.
+ */
+@Plugin(name = "TestLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class TestLogBufferAppender extends AbstractAppender {
+    public static final String TEST_KEY = "test";
+    public static final Marker CONTROL = MarkerManager.getMarker("TEST_LOG");
+    public static final Marker FLUSH = MarkerManager.getMarker("TEST_LOG_FLUSH").setParents(CONTROL);
+    public static final Marker DISCARD = MarkerManager.getMarker("TEST_LOG_DISCARD").setParents(CONTROL);
+
+    private final Path directory;
+    private final int maxEvents;
+    private final Map<String, Deque<LogEvent>> buffers = new ConcurrentHashMap<>();
+
+    private TestLogBufferAppender(String name, Filter filter, Layout<? extends Serializable> layout,
+                                  Path directory, int maxEvents) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.directory = directory;
+        this.maxEvents = maxEvents;
+    }
+
+    @PluginFactory
+    public static TestLogBufferAppender createAppender(
+            @PluginAttribute("name") String name,
+            @PluginAttribute(value = "directory", defaultString = "test-output/logs/tests") String directory,
+            @PluginAttribute(value = "maxEvents", defaultInt = 5000) int maxEvents,
+            @PluginElement("Layout") Layout<? extends Serializable> layout,
+            @PluginElement("Filter") Filter filter) {
+        if (name == null) {
+            LOGGER.error("No name provided for TestLogBufferAppender");
+            return null;
+        }
+        if (layout == null) {
+            layout = PatternLayout.createDefaultLayout();
+        }
+        return new TestLogBufferAppender(name, filter, layout, Paths.get(directory), Math.max(1, maxEvents));
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String test = event.getContextData().getValue(TEST_KEY);
+        if (test == null) {
+            return;
+        }
+        Marker marker = event.getMarker();
+        if (marker != null && marker.isInstanceOf(DISCARD)) {
+            buffers.remove(test);
+            return;
+        }
+
+        Deque<LogEvent> buffer = buffers.computeIfAbsent(test, key -> new ArrayDeque<>());
+        synchronized (buffer) {
+            if (marker == null || !marker.isInstanceOf(FLUSH)) {
+                buffer.addLast(event.toImmutable());
+                if (buffer.size() > maxEvents) {
+                    buffer.removeFirst();
+                }
+                return;
+            }
+        }
+        buffers.remove(test);
+        write(test, buffer);
+    }
+
+    private void write(String test, Deque<LogEvent> buffer) {
+        Path file = directory.resolve(test.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                synchronized (buffer) {
+                    for (LogEvent event : buffer) {
+                        out.write(getLayout().toByteArray(event));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            error("Failed to write test log " + file + ": " + e.getMessage());
+        }
+    }
+}
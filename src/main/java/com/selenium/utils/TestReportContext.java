@@ -0,0 +1,205 @@
+package com.selenium.utils;
+
+import com.aventstack.extentreports.Status;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Buffers the report events of a single test invocation until it finishes.
+ * Each worker thread owns the context of the test it is running, so logging
+ * never contends with other threads.
+ */
+public class TestReportContext {
+    private static final String RESULT_ATTRIBUTE = "reportContext";
+    private static final ThreadLocal<TestReportContext> current = new ThreadLocal<>();
+
+    private static final int MAX_PARAMETER_LENGTH = 40;
+
+    private final String name;
+    private final String description;
+    private final String parentKey;
+    private final String parentName;
+    private final List<ReportEvent> events = new ArrayList<>();
+    private final long startMillis = System.currentTimeMillis();
+    private long endMillis;
+
+    TestReportContext(String name, String description) {
+        this(name, description, null, null);
+    }
+
+    TestReportContext(String name, String description, String parentKey, String parentName) {
+        this.name = name;
+        this.description = description;
+        this.parentKey = parentKey;
+        this.parentName = parentName;
+    }
+
+    /**
+     * Start a context for the given test and bind it to the current thread
+     */
+    public static TestReportContext start(ITestResult result) {
+        String methodName = result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        // Data-provider rows become nodes under one entry for their method, keyed by class so
+        // same-named methods of different classes keep separate entries
+        Class<?> testClass = result.getTestClass().getRealClass();
+        TestReportContext context = parameters.length == 0
+                ? new TestReportContext(methodName, result.getMethod().getDescription())
+                : new TestReportContext(rowName(parameters), result.getMethod().getDescription(),
+                        testClass.getName() + "." + methodName, testClass.getSimpleName() + "." + methodName);
+        result.setAttribute(RESULT_ATTRIBUTE, context);
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Get the context bound to the current thread, or null outside a test
+     */
+    public static TestReportContext current() {
+        return current.get();
+    }
+
+    /**
+     * Get the context recorded on a test result, or null if none was started
+     */
+    public static TestReportContext of(ITestResult result) {
+        return (TestReportContext) result.getAttribute(RESULT_ATTRIBUTE);
+    }
+
+    /**
+     * Unbind and return the context of the current thread
+     */
+    public static TestReportContext finish() {
+        TestReportContext context = current.get();
+        current.remove();
+        if (context != null) {
+            context.endMillis = System.currentTimeMillis();
+        }
+        return context;
+    }
+
+    public void info(String message) {
+        log(Status.INFO, message);
+    }
+
+    public void pass(String message) {
+        log(Status.PASS, message);
+    }
+
+    public void fail(String message) {
+        log(Status.FAIL, message);
+    }
+
+    public void skip(String message) {
+        log(Status.SKIP, message);
+    }
+
+    public void log(Status status, String message) {
+        events.add(new ReportEvent(status, message, null));
+    }
+
+    /**
+     * Attach a screenshot to the report node
+     */
+    public void addScreenshot(String path) {
+        addScreenshot(CompletableFuture.completedFuture(path));
+    }
+
+    /**
+     * Attach a screenshot whose path resolves once its background write lands
+     */
+    public void addScreenshot(CompletableFuture<String> path) {
+        events.add(new ReportEvent(null, null, path));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the fully qualified method that identifies the parent report entry of a
+     * data-provider row, or null for a plain test
+     */
+    public String getParentKey() {
+        return parentKey;
+    }
+
+    /**
+     * Get the display name of the parent report entry of a data-provider row, or null for a plain test
+     */
+    public String getParentName() {
+        return parentName;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Get the time the test finished, or 0 while it is still running
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    public List<ReportEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    private static String rowName(Object[] parameters) {
+        String[] values = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            String value = String.valueOf(parameters[i]);
+            values[i] = value.length() > MAX_PARAMETER_LENGTH
+                    ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+        }
+        return Arrays.toString(values);
+    }
+
+    /**
+     * A single buffered log line or screenshot attachment
+     */
+    public static class ReportEvent {
+        private final Status status;
+        private final String message;
+        private final CompletableFuture<String> screenshotPath;
+
+        ReportEvent(Status status, String message, CompletableFuture<String> screenshotPath) {
+            this.status = status;
+            this.message = message;
+            this.screenshotPath = screenshotPath;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public CompletableFuture<String> getScreenshotPath() {
+            return screenshotPath;
+        }
+
+        /**
+         * Wait for the background screenshot write and get its path, or null if it failed
+         */
+        public String awaitScreenshotPath() {
+            return screenshotPath.join();
+        }
+
+        public boolean isScreenshot() {
+            return screenshotPath != null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.selenium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the framework's background work and TestNG workers. With
+ * threads.virtual=true on JDK 21 or newer they make virtual threads, which park
+ * instead of holding a platform thread while a WebDriver command waits on its
+ * socket. The project still compiles for Java 11, so virtual threads are created
+ * through reflection, and older runtimes fall back to platform threads.
+ */
+public final class ThreadFactories {
+    private static final Logger logger = LogManager.getLogger(ThreadFactories.class);
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final boolean VIRTUAL;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // Runtime older than JDK 21
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+
+        boolean configured = ConfigReader.getConfig().isVirtualThreads();
+        if (configured && OF_VIRTUAL == null) {
+            logger.warn("threads.virtual needs JDK 21 or newer, running {} on platform threads",
+                    System.getProperty("java.version"));
+        }
+        VIRTUAL = configured && OF_VIRTUAL != null;
+    }
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * Check if the runtime can create virtual threads
+     */
+    public static boolean isVirtualAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Check if {@link #named} makes virtual threads, which needs threads.virtual=true and JDK 21
+     */
+    public static boolean isVirtual() {
+        return VIRTUAL;
+    }
+
+    /**
+     * Create threads named name-1, name-2 and so on, virtual ones when {@link #isVirtual()}
+     * and daemon platform threads otherwise
+     */
+    public static ThreadFactory named(String name) {
+        return VIRTUAL ? virtual(name) : platform(name);
+    }
+
+    /**
+     * Create daemon platform threads named name-1, name-2 and so on
+     */
+    public static ThreadFactory platform(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Create virtual threads named name-1, name-2 and so on
+     * @throws IllegalStateException if the runtime has no virtual threads
+     */
+    public static ThreadFactory virtual(String name) {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or newer, this is "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 1L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create a virtual thread factory", e);
+        }
+    }
+}
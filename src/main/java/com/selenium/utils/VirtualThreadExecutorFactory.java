@@ -0,0 +1,52 @@
+package com.selenium.utils;
+
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory that runs parallel test methods on {@link ThreadFactories}
+ * threads, which are virtual with threads.virtual=true on JDK 21 or newer. The
+ * thread-count still bounds how many tests run at once; virtual workers make a
+ * high thread-count cheap. Selected with TestNG's -threadpoolfactoryclass option,
+ * which surefire cannot pass, so the virtual-threads Maven profile runs the suite
+ * through the TestNG command line.
+ * Drivers stay in DriverFactory's ThreadLocal: TestNG runs a method's @BeforeMethod,
+ * the test and its @AfterMethod on the same worker, so every lease is only seen by
+ * the thread that took it, and quitDriver removes it before the worker moves on.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+    private final IExecutorFactory suites = new DefaultThreadPoolExecutorFactory();
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory, int corePoolSize,
+                                                      int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                      BlockingQueue<Runnable> workQueue,
+                                                      Comparator<ISuite> comparator) {
+        return suites.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize, keepAliveTime, unit,
+                workQueue, comparator);
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize, long keepAliveTime,
+                                                           TimeUnit unit, BlockingQueue<Runnable> workQueue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+                corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        // Workers are created on first use, so they all come from this factory
+        executor.setThreadFactory(ThreadFactories.named("testng-" + name));
+        return executor;
+    }
+}
@@ -0,0 +1,87 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A wait condition on one located element that can be evaluated both by polling
+ * from Java and inside the browser by a {@link WaitEngine.Mode#MUTATION} wait
+ */
+public final class WaitCondition<T> {
+    private final String name;
+    private final List<Object> remoteLocator;
+    private final String state;
+    private final String expectedText;
+    private final Function<? super WebDriver, T> fallback;
+
+    private WaitCondition(String name, By locator, String state, String expectedText,
+                          Function<? super WebDriver, T> fallback) {
+        this.name = name;
+        this.remoteLocator = locator instanceof By.Remotable ? ElementStateQuery.toRemote(locator) : null;
+        this.state = state;
+        this.expectedText = expectedText;
+        this.fallback = fallback;
+    }
+
+    public static WaitCondition<WebElement> present(By locator) {
+        return new WaitCondition<>("present", locator, "present", null,
+                ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    public static WaitCondition<WebElement> visible(By locator) {
+        return new WaitCondition<>("visible", locator, "visible", null,
+                ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    public static WaitCondition<WebElement> visible(WebElement element) {
+        return new WaitCondition<>("visible", LocatedElement.locatorOf(element), "visible", null,
+                ExpectedConditions.visibilityOf(element));
+    }
+
+    public static WaitCondition<WebElement> clickable(By locator) {
+        return new WaitCondition<>("clickable", locator, "clickable", null,
+                ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    public static WaitCondition<WebElement> clickable(WebElement element) {
+        return new WaitCondition<>("clickable", LocatedElement.locatorOf(element), "clickable", null,
+                ExpectedConditions.elementToBeClickable(element));
+    }
+
+    public static WaitCondition<Boolean> textPresent(WebElement element, String text) {
+        return new WaitCondition<>("textPresent", LocatedElement.locatorOf(element), "text", text,
+                ExpectedConditions.textToBePresentInElement(element, text));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Check if the condition can be evaluated in the browser, which needs a W3C locator
+     */
+    public boolean isObservable() {
+        return remoteLocator != null;
+    }
+
+    List<Object> getRemoteLocator() {
+        return remoteLocator;
+    }
+
+    String getState() {
+        return state;
+    }
+
+    String getExpectedText() {
+        return expectedText;
+    }
+
+    Function<? super WebDriver, T> getFallback() {
+        return fallback;
+    }
+}
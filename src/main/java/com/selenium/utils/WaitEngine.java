@@ -0,0 +1,274 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Owns all waiting against a driver session. Implicit waits are disabled, and
+ * conditions are polled starting with a tight interval that backs off towards
+ * a ceiling. Latency of every named condition is recorded in a histogram.
+ * In {@link Mode#MUTATION} mode, {@link WaitCondition}s are instead watched by a
+ * MutationObserver inside the page and resolve as soon as the DOM changes.
+ */
+public class WaitEngine {
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+    private static final String MUTATION_SCRIPT =
+            "var l = arguments[0], state = arguments[1], text = arguments[2], timeoutMs = arguments[3],"
+            + "    sweepMs = arguments[4], done = arguments[arguments.length - 1];"
+            + ElementStateQuery.FIND_FUNCTIONS
+            + "function holds() {"
+            + "  var e = find(l);"
+            + "  if (!e) { return false; }"
+            + "  switch (state) {"
+            + "    case 'present': return true;"
+            + "    case 'visible': return visible(e);"
+            + "    case 'clickable': return visible(e) && !e.disabled;"
+            + "    case 'text': return (e.innerText || e.textContent || '').indexOf(text) >= 0;"
+            + "  }"
+            + "  return false;"
+            + "}"
+            + "if (holds()) { done(true); return; }"
+            + "var finished = false, observer, timer, sweep;"
+            + "function finish(result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(sweep); done(result);"
+            + "}"
+            + "observer = new MutationObserver(function() { if (holds()) { finish(true); } });"
+            + "observer.observe(document.documentElement || document,"
+            + "    {childList: true, subtree: true, attributes: true, characterData: true});"
+            // Style sheet transitions change visibility without a DOM mutation, so re-check now and then
+            + "sweep = setInterval(function() { if (holds()) { finish(true); } }, sweepMs);"
+            + "timer = setTimeout(function() { finish(false); }, timeoutMs);";
+    private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> timeouts = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration absenceTimeout;
+    private final long initialPollNanos;
+    private final long maxPollNanos;
+    private final double backoff;
+    private final Mode mode;
+    private final long sweepMillis;
+    private final AtomicBoolean asyncScripts;
+
+    /**
+     * How {@link WaitCondition}s are waited for
+     */
+    public enum Mode {
+        /** Poll the condition over the wire with backoff */
+        POLLING,
+        /** Watch the condition with a MutationObserver in one async script, polling if that is not possible */
+        MUTATION;
+
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("wait.mode must be polling or mutation but was '" + value + "'");
+            }
+        }
+    }
+
+    public WaitEngine(WebDriver driver) {
+        this(driver, ConfigReader.getExplicitWaitDuration(), ConfigReader.getConfig().getWaitAbsenceTimeout(),
+                ConfigReader.getConfig().getWaitPollInitial(), ConfigReader.getConfig().getWaitPollMax(),
+                ConfigReader.getConfig().getWaitPollBackoff(),
+                ConfigReader.getConfig().getWaitMode(), ConfigReader.getConfig().getWaitMutationSweepMillis());
+    }
+
+    public WaitEngine(WebDriver driver, Duration timeout, Duration absenceTimeout,
+                      Duration initialPoll, Duration maxPoll, double backoff) {
+        this(driver, timeout, absenceTimeout, initialPoll, maxPoll, backoff, Mode.POLLING, 250);
+    }
+
+    public WaitEngine(WebDriver driver, Duration timeout, Duration absenceTimeout,
+                      Duration initialPoll, Duration maxPoll, double backoff, Mode mode, long sweepMillis) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.absenceTimeout = absenceTimeout;
+        this.initialPollNanos = initialPoll.toNanos();
+        this.maxPollNanos = Math.max(initialPollNanos, maxPoll.toNanos());
+        this.backoff = Math.max(1.0, backoff);
+        this.mode = mode;
+        this.sweepMillis = Math.max(1, sweepMillis);
+        this.asyncScripts = new AtomicBoolean(driver instanceof JavascriptExecutor);
+    }
+
+    private WaitEngine(WaitEngine source, Mode mode) {
+        this.driver = source.driver;
+        this.timeout = source.timeout;
+        this.absenceTimeout = source.absenceTimeout;
+        this.initialPollNanos = source.initialPollNanos;
+        this.maxPollNanos = source.maxPollNanos;
+        this.backoff = source.backoff;
+        this.mode = mode;
+        this.sweepMillis = source.sweepMillis;
+        this.asyncScripts = source.asyncScripts;
+    }
+
+    /**
+     * Get an engine for the same session that waits in the given mode
+     */
+    public WaitEngine withMode(Mode mode) {
+        return mode == this.mode ? this : new WaitEngine(this, mode);
+    }
+
+    /**
+     * Wait with the default timeout until the element condition holds
+     */
+    public <T> T until(WaitCondition<T> condition) {
+        return until(condition, timeout);
+    }
+
+    /**
+     * Wait until the element condition holds. In mutation mode the browser reports back
+     * as soon as it does; if the async script fails, polling covers the remaining time.
+     */
+    public <T> T until(WaitCondition<T> condition, Duration timeout) {
+        if (mode != Mode.MUTATION || !condition.isObservable() || !asyncScripts.get()) {
+            return until(condition.getName(), condition.getFallback(), timeout);
+        }
+
+        String name = condition.getName() + ".mutation";
+        long start = System.nanoTime();
+        try {
+            Object holds = ((JavascriptExecutor) driver).executeAsyncScript(MUTATION_SCRIPT,
+                    condition.getRemoteLocator(), condition.getState(), condition.getExpectedText(),
+                    timeout.toMillis(), sweepMillis);
+            if (!Boolean.TRUE.equals(holds)) {
+                record(timeouts, name, System.nanoTime() - start);
+                throw new TimeoutException(String.format("Expected condition failed: %s (observed for %d ms)",
+                        name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+            T value = condition.getFallback().apply(driver);
+            if (value != null && !Boolean.FALSE.equals(value)) {
+                record(latencies, name, System.nanoTime() - start);
+                return value;
+            }
+        } catch (UnsupportedCommandException e) {
+            if (asyncScripts.compareAndSet(true, false)) {
+                logger.warn("Async scripts are not supported by this driver, falling back to polling waits");
+            }
+        } catch (ScriptTimeoutException | JavascriptException | NotFoundException | StaleElementReferenceException e) {
+            // Script timeout shorter than the wait, a navigation replacing the document, or the
+            // element changing again before it was read: poll for whatever time is left
+            logger.debug("Mutation wait for {} interrupted: {}", name, e.getClass().getSimpleName());
+        }
+        Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+        return until(condition.getName(), condition.getFallback(), remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    /**
+     * Wait with the default timeout until the condition returns a non-null, non-false value
+     * @param name Condition name used for latency reporting
+     */
+    public <T> T until(String name, Function<? super WebDriver, T> condition) {
+        return until(name, condition, timeout);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value
+     * @param name Condition name used for latency reporting
+     */
+    public <T> T until(String name, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollNanos = initialPollNanos;
+        RuntimeException lastException = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(latencies, name, System.nanoTime() - start);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                record(timeouts, name, System.nanoTime() - start);
+                throw new TimeoutException(String.format("Expected condition failed: %s (tried for %d ms)",
+                        name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)), lastException);
+            }
+            LockSupport.parkNanos(Math.min(pollNanos, remaining));
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + name);
+            }
+            pollNanos = Math.min(maxPollNanos, (long) (pollNanos * backoff));
+        }
+    }
+
+    /**
+     * Check a condition that is expected to be false most of the time, such as an
+     * error message being shown, giving up after the short absence timeout
+     */
+    public boolean isSatisfied(String name, Function<? super WebDriver, Boolean> condition) {
+        try {
+            return until(name, condition, absenceTimeout);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get latency histograms of satisfied conditions keyed by condition name
+     */
+    public static Map<String, LatencyHistogram> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    /**
+     * Get histograms of time spent in conditions that timed out, keyed by condition name
+     */
+    public static Map<String, LatencyHistogram> getTimeouts() {
+        return new TreeMap<>(timeouts);
+    }
+
+    /**
+     * Log where wait time went during the run
+     */
+    public static void logMetrics() {
+        getLatencies().forEach((name, histogram) -> logger.info("Wait {}: {}", name, histogram));
+        getTimeouts().forEach((name, histogram) -> logger.info("Wait {} timed out: {}", name, histogram));
+    }
+
+    private static void record(Map<String, LatencyHistogram> histograms, String name, long nanos) {
+        StepMetrics.recordNanos(StepMetrics.WAIT, histograms == timeouts ? name + ".timeout" : name, nanos);
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+}
@@ -2,15 +2,12 @@ package com.selenium.utils;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.interactions.Actions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.time.Duration;
 import java.util.List;
 
 /**
@@ -19,13 +16,13 @@ import java.util.List;
 public class WebUtils {
     private static final Logger logger = LogManager.getLogger(WebUtils.class);
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
     private Actions actions;
     private JavascriptExecutor jsExecutor;
 
     public WebUtils(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        this.wait = DriverContext.of(driver).getWait();
         this.actions = new Actions(driver);
         this.jsExecutor = (JavascriptExecutor) driver;
     }
@@ -34,51 +31,63 @@ public class WebUtils {
      * Scroll to element using JavaScript
      */
     public void scrollToElement(WebElement element) {
+        long start = System.nanoTime();
         jsExecutor.executeScript("arguments[0].scrollIntoView(true);", element);
-        logger.info("Scrolled to element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "scrollToElement", start);
+        logger.debug("Scrolled to element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Highlight element for debugging
      */
     public void highlightElement(WebElement element) {
+        long start = System.nanoTime();
         jsExecutor.executeScript("arguments[0].style.border='3px solid red'", element);
-        logger.info("Highlighted element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "highlightElement", start);
+        logger.debug("Highlighted element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Click element using JavaScript
      */
     public void clickUsingJS(WebElement element) {
+        long start = System.nanoTime();
         jsExecutor.executeScript("arguments[0].click();", element);
-        logger.info("Clicked element using JavaScript: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "clickUsingJS", start);
+        logger.debug("Clicked element using JavaScript: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Select dropdown option by visible text
      */
     public void selectByVisibleText(WebElement dropdown, String text) {
+        long start = System.nanoTime();
         Select select = new Select(dropdown);
         select.selectByVisibleText(text);
-        logger.info("Selected option '{}' from dropdown", text);
+        StepMetrics.record(StepMetrics.ACTION, "selectByVisibleText", start);
+        logger.debug("Selected option '{}' from dropdown", text);
     }
 
     /**
      * Select dropdown option by value
      */
     public void selectByValue(WebElement dropdown, String value) {
+        long start = System.nanoTime();
         Select select = new Select(dropdown);
         select.selectByValue(value);
-        logger.info("Selected option with value '{}' from dropdown", value);
+        StepMetrics.record(StepMetrics.ACTION, "selectByValue", start);
+        logger.debug("Selected option with value '{}' from dropdown", value);
     }
 
     /**
      * Get all options from dropdown
      */
     public List<WebElement> getAllDropdownOptions(WebElement dropdown) {
+        long start = System.nanoTime();
         Select select = new Select(dropdown);
         List<WebElement> options = select.getOptions();
-        logger.info("Retrieved {} options from dropdown", options.size());
+        StepMetrics.record(StepMetrics.ACTION, "getAllDropdownOptions", start);
+        logger.debug("Retrieved {} options from dropdown", options.size());
         return options;
     }
 
@@ -86,45 +95,51 @@ public class WebUtils {
      * Hover over element
      */
     public void hoverOverElement(WebElement element) {
+        long start = System.nanoTime();
         actions.moveToElement(element).perform();
-        logger.info("Hovered over element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "hoverOverElement", start);
+        logger.debug("Hovered over element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Double click element
      */
     public void doubleClick(WebElement element) {
+        long start = System.nanoTime();
         actions.doubleClick(element).perform();
-        logger.info("Double clicked element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "doubleClick", start);
+        logger.debug("Double clicked element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Right click element
      */
     public void rightClick(WebElement element) {
+        long start = System.nanoTime();
         actions.contextClick(element).perform();
-        logger.info("Right clicked element: {}", element.toString());
+        StepMetrics.record(StepMetrics.ACTION, "rightClick", start);
+        logger.debug("Right clicked element: {}", ElementDescriptor.of(element));
     }
 
     /**
      * Wait for element to be present
      */
     public WebElement waitForElementPresent(org.openqa.selenium.By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return wait.until(WaitCondition.present(locator));
     }
 
     /**
      * Wait for element to be clickable
      */
     public WebElement waitForElementClickable(org.openqa.selenium.By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return wait.until(WaitCondition.clickable(locator));
     }
 
     /**
      * Wait for text to be present in element
      */
     public boolean waitForTextToBePresentInElement(WebElement element, String text) {
-        return wait.until(ExpectedConditions.textToBePresentInElement(element, text));
+        return wait.until(WaitCondition.textPresent(element, text));
     }
 
     /**
@@ -143,8 +158,10 @@ public class WebUtils {
      * Get element attribute value
      */
     public String getElementAttribute(WebElement element, String attribute) {
+        long start = System.nanoTime();
         String value = element.getAttribute(attribute);
-        logger.info("Retrieved attribute '{}' value: '{}'", attribute, value);
+        StepMetrics.record(StepMetrics.ACTION, "getElementAttribute", start);
+        logger.debug("Retrieved attribute '{}' value: '{}'", attribute, value);
         return value;
     }
 
@@ -152,49 +169,61 @@ public class WebUtils {
      * Clear and send keys to element
      */
     public void clearAndSendKeys(WebElement element, String text) {
+        long start = System.nanoTime();
         element.clear();
         element.sendKeys(text);
-        logger.info("Cleared and entered text '{}' in element", text);
+        StepMetrics.record(StepMetrics.ACTION, "clearAndSendKeys", start);
+        logger.debug("Cleared and entered text '{}' in element", text);
     }
 
     /**
      * Switch to frame by element
      */
     public void switchToFrame(WebElement frameElement) {
+        long start = System.nanoTime();
         driver.switchTo().frame(frameElement);
-        logger.info("Switched to frame");
+        StepMetrics.record(StepMetrics.ACTION, "switchToFrame", start);
+        logger.debug("Switched to frame");
     }
 
     /**
      * Switch to default content
      */
     public void switchToDefaultContent() {
+        long start = System.nanoTime();
         driver.switchTo().defaultContent();
-        logger.info("Switched to default content");
+        StepMetrics.record(StepMetrics.ACTION, "switchToDefaultContent", start);
+        logger.debug("Switched to default content");
     }
 
     /**
      * Accept alert
      */
     public void acceptAlert() {
+        long start = System.nanoTime();
         driver.switchTo().alert().accept();
-        logger.info("Accepted alert");
+        StepMetrics.record(StepMetrics.ACTION, "acceptAlert", start);
+        logger.debug("Accepted alert");
     }
 
     /**
      * Dismiss alert
      */
     public void dismissAlert() {
+        long start = System.nanoTime();
         driver.switchTo().alert().dismiss();
-        logger.info("Dismissed alert");
+        StepMetrics.record(StepMetrics.ACTION, "dismissAlert", start);
+        logger.debug("Dismissed alert");
     }
 
     /**
      * Get alert text
      */
     public String getAlertText() {
+        long start = System.nanoTime();
         String alertText = driver.switchTo().alert().getText();
-        logger.info("Retrieved alert text: '{}'", alertText);
+        StepMetrics.record(StepMetrics.ACTION, "getAlertText", start);
+        logger.debug("Retrieved alert text: '{}'", alertText);
         return alertText;
     }
 }
@@ -1,20 +1,43 @@
 package com.selenium.base;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.selenium.pages.LoginPage;
+import com.selenium.pages.PageObjectFactory;
 import com.selenium.utils.ConfigReader;
+import com.selenium.utils.DriverBinaryResolver;
 import com.selenium.utils.DriverFactory;
+import com.selenium.utils.LocalAppServer;
+import com.selenium.utils.LocalGridServer;
+import com.selenium.utils.ReportEventLog;
+import com.selenium.utils.ReportHtmlRenderer;
+import com.selenium.utils.ReportPublisher;
+import com.selenium.utils.ResourceBlocker;
 import com.selenium.utils.ScreenshotUtils;
+import com.selenium.utils.SessionStateCache;
+import com.selenium.utils.ShardPlan;
+import com.selenium.utils.StepMetrics;
+import com.selenium.utils.TestLogBufferAppender;
+import com.selenium.utils.TestReportContext;
+import com.selenium.utils.WaitEngine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
+import org.testng.xml.XmlSuite;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base Test class containing common test setup and teardown methods
@@ -24,47 +47,71 @@ public class BaseTest {
     
     // ExtentReports
     protected static ExtentReports extent;
-    protected static ExtentTest test;
+    protected static ReportPublisher reportPublisher;
+    protected static ReportEventLog reportEvents;
+    private static final AtomicInteger testSequence = new AtomicInteger();
     
     @BeforeSuite
-    public void setUpSuite() {
+    public void setUpSuite(ITestContext context) {
         logger.info("Setting up test suite");
-        setupExtentReports();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        if (ConfigReader.getConfig().isReportExtentEnabled()) {
+            setupExtentReports(timestamp);
+        }
+        if (ConfigReader.getConfig().isReportEventsEnabled()) {
+            setupEventLog(timestamp);
+        }
+        reportPublisher = new ReportPublisher(extent, reportEvents);
+        
+        // Start the local stand-in app up front rather than in the first test
+        if (ConfigReader.isLocalApp()) {
+            LocalAppServer.start();
+        }
+        
+        // Size the driver pool to the number of parallel workers; each worker can run
+        // the rows of a parallel data provider on up to data-provider-thread-count threads
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        int workers = suite.getParallel().isParallel() ? suite.getThreadCount() : 1;
+        DriverFactory.configurePool(workers * Math.max(1, suite.getDataProviderThreadCount()));
     }
     
     @BeforeMethod
     public void setUp(ITestResult result) {
         logger.info("Setting up test: {}", result.getMethod().getMethodName());
         
-        // Initialize driver
+        // Start buffering report events for this test
+        TestReportContext test = TestReportContext.start(result);
+        test.info("Test started: " + result.getMethod().getMethodName());
+        String testName = result.getTestClass().getRealClass().getSimpleName()
+                + "." + result.getMethod().getMethodName();
+        StepMetrics.startTest(testName);
+        
+        // Tag log events so the per-test buffer can be written out if the test fails
+        ThreadContext.put(TestLogBufferAppender.TEST_KEY, testName + "-" + testSequence.incrementAndGet());
+        
+        // Lease a driver from the pool
         DriverFactory.initializeDriver();
         
-        // Navigate to application URL
-        DriverFactory.getDriver().get(ConfigReader.getUrl());
+        // Navigate to application URL, continuing once the login form is usable
+        PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class).open();
         logger.info("Navigated to application URL: {}", ConfigReader.getUrl());
-        
-        // Create test in ExtentReports
-        test = extent.createTest(result.getMethod().getMethodName());
-        test.info("Test started: " + result.getMethod().getMethodName());
     }
     
     @AfterMethod
     public void tearDown(ITestResult result) {
         logger.info("Tearing down test: {}", result.getMethod().getMethodName());
+        TestReportContext test = TestReportContext.current();
         
         // Handle test result for ExtentReports
         if (result.getStatus() == ITestResult.FAILURE) {
             logger.error("Test failed: {}", result.getMethod().getMethodName());
             test.fail("Test Failed: " + result.getThrowable().getMessage());
             
-            // Take screenshot on failure
-            String screenshotPath = ScreenshotUtils.takeScreenshotOnFailure(
+            // Capture screenshot on failure; the file is written in the background
+            test.addScreenshot(ScreenshotUtils.takeScreenshotOnFailureAsync(
                 DriverFactory.getDriver(), 
                 result.getMethod().getMethodName()
-            );
-            if (screenshotPath != null) {
-                test.addScreenCaptureFromPath(screenshotPath);
-            }
+            ));
         } else if (result.getStatus() == ITestResult.SUCCESS) {
             logger.info("Test passed: {}", result.getMethod().getMethodName());
             test.pass("Test Passed");
@@ -73,26 +120,78 @@ public class BaseTest {
             test.skip("Test Skipped: " + result.getThrowable().getMessage());
         }
         
-        // Quit driver
-        DriverFactory.quitDriver();
+        // Report the requests the resource policy kept from loading
+        ResourceBlocker.Stats resources = ResourceBlocker.takeStats(DriverFactory.getDriver());
+        if (resources != null) {
+            logger.info("Resources: {}", resources);
+            test.info("Resources: " + resources);
+        }
+        
+        // Stop timing first, so the pool's reset commands are not counted as this test's
+        StepMetrics.endTest();
+        
+        // Return driver to the pool, unless a failure may have left the session in a bad state
+        if (result.getStatus() == ITestResult.FAILURE) {
+            DriverFactory.discard("test failed");
+        } else {
+            DriverFactory.quitDriver();
+        }
+        
+        // Write the buffered debug log of failed tests, or of every test at log.test.verbosity=all
+        String verbosity = ConfigReader.getConfig().getLogTestVerbosity();
+        if (verbosity.equals("all") || (result.getStatus() == ITestResult.FAILURE && !verbosity.equals("none"))) {
+            logger.info(TestLogBufferAppender.FLUSH, "Writing buffered log of {}", ThreadContext.get(TestLogBufferAppender.TEST_KEY));
+        } else {
+            logger.info(TestLogBufferAppender.DISCARD, "Discarding buffered log");
+        }
+        ThreadContext.remove(TestLogBufferAppender.TEST_KEY);
+        
+        // Publish the buffered report events in one batch
+        reportPublisher.publish(TestReportContext.finish());
     }
     
     @AfterSuite
     public void tearDownSuite() {
         logger.info("Tearing down test suite");
         
-        // Flush ExtentReports
-        if (extent != null) {
-            extent.flush();
+        // Quit pooled drivers
+        DriverFactory.shutdownPool();
+        LocalAppServer.stop();
+        LocalGridServer.stop();
+        DriverBinaryResolver.logSummary();
+        WaitEngine.logMetrics();
+        SessionStateCache.logSummary();
+        ResourceBlocker.logSummary();
+        Path metrics = ConfigReader.getConfig().getMetricsPath();
+        StepMetrics.export(ShardPlan.isSharded() ? metrics.resolve(ShardPlan.label()) : metrics);
+        
+        // Finish queued screenshot writes
+        ScreenshotUtils.awaitPendingWrites();
+        
+        // Publish pending report events and flush ExtentReports
+        if (reportPublisher != null) {
+            reportPublisher.shutdown();
+        }
+        
+        // Render the event log next to it, streaming so large runs stay out of the heap
+        if (reportEvents != null) {
+            Path log = reportEvents.getFile();
+            String name = log.getFileName().toString().replaceFirst("\\.jsonl$", ".html");
+            try {
+                ReportHtmlRenderer.render(List.of(log), Paths.get(ConfigReader.getReportsPath(), name),
+                        "Selenium POM Framework Test Report");
+            } catch (IOException e) {
+                logger.error("Failed to render report from {}: {}", log, e.getMessage());
+            }
         }
     }
     
     /**
      * Setup ExtentReports configuration
      */
-    private void setupExtentReports() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-        String reportPath = ConfigReader.getReportsPath() + "TestReport_" + timestamp + ".html";
+    private void setupExtentReports(String timestamp) {
+        String shard = ShardPlan.isSharded() ? "_" + ShardPlan.label() : "";
+        String reportPath = ConfigReader.getReportsPath() + "TestReport_" + timestamp + shard + ".html";
         
         // Create reports directory if it doesn't exist
         File reportDir = new File(ConfigReader.getReportsPath());
@@ -107,6 +206,10 @@ public class BaseTest {
         
         extent = new ExtentReports();
         extent.attachReporter(sparkReporter);
+        if (ShardPlan.isSharded()) {
+            // ShardReportMerger combines the archives of all shards into one report
+            extent.attachReporter(new JsonFormatter(ConfigReader.getReportsPath() + "shards/" + ShardPlan.label() + ".json"));
+        }
         extent.setSystemInfo("OS", System.getProperty("os.name"));
         extent.setSystemInfo("Java Version", System.getProperty("java.version"));
         extent.setSystemInfo("Browser", ConfigReader.getBrowser());
@@ -115,11 +218,28 @@ public class BaseTest {
         logger.info("ExtentReports configured. Report will be saved at: {}", reportPath);
     }
     
+    /**
+     * Open the JSONL event log that each finished test is appended to
+     */
+    private void setupEventLog(String timestamp) {
+        // Shard logs sit with the Extent archives for ShardReportMerger
+        Path log = ShardPlan.isSharded()
+                ? Paths.get(ConfigReader.getReportsPath(), "shards", ShardPlan.label() + ".jsonl")
+                : Paths.get(ConfigReader.getReportsPath(), "events", "TestEvents_" + timestamp + ".jsonl");
+        try {
+            reportEvents = new ReportEventLog(log, ShardPlan.isSharded() ? ShardPlan.label() : "local");
+            logger.info("Report events will be logged to: {}", log);
+        } catch (IOException e) {
+            logger.error("Failed to open report event log {}: {}", log, e.getMessage());
+        }
+    }
+    
     /**
      * Log info message to both logger and ExtentReports
      */
     protected void logInfo(String message) {
         logger.info(message);
+        TestReportContext test = TestReportContext.current();
         if (test != null) {
             test.info(message);
         }
@@ -130,6 +250,7 @@ public class BaseTest {
      */
     protected void logPass(String message) {
         logger.info("PASS: {}", message);
+        TestReportContext test = TestReportContext.current();
         if (test != null) {
             test.pass(message);
         }
@@ -140,6 +261,7 @@ public class BaseTest {
      */
     protected void logFail(String message) {
         logger.error("FAIL: {}", message);
+        TestReportContext test = TestReportContext.current();
         if (test != null) {
             test.fail(message);
         }
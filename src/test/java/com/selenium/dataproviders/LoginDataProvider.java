@@ -3,6 +3,8 @@ package com.selenium.dataproviders;
 import com.selenium.utils.ConfigReader;
 import org.testng.annotations.DataProvider;
 
+import java.util.Iterator;
+
 /**
  * Data Provider class for supplying test data
  */
@@ -15,24 +17,28 @@ public class LoginDataProvider {
         };
     }
 
-    @DataProvider(name = "invalidLoginData")
-    public Object[][] invalidLoginData() {
+    // Sequential, so the first row logs in through the UI and later rows restore its cached session
+    @DataProvider(name = "repeatedSessionData")
+    public Object[][] repeatedSessionData() {
+        String username = ConfigReader.getValidUsername();
+        String password = ConfigReader.getValidPassword();
         return new Object[][] {
-            { "invalid_user", "secret_sauce", "Username and password do not match" },
-            { "standard_user", "invalid_password", "Username and password do not match" },
-            { "", "", "Username is required" },
-            { "standard_user", "", "Password is required" },
-            { "", "secret_sauce", "Username is required" }
+            { username, password, 1 },
+            { username, password, 2 },
+            { username, password, 3 }
         };
     }
 
+    // File-backed providers stay sequential: TestNG drains a parallel provider's iterator into
+    // a task list before running any row, which would hold the whole file in memory
+    @DataProvider(name = "invalidLoginData")
+    public Iterator<Object[]> invalidLoginData() {
+        return TestDataSource.csv("testdata/invalid-logins.csv", "username", "password", "expectedError");
+    }
+
     @DataProvider(name = "specialCharacterData")
-    public Object[][] specialCharacterData() {
-        return new Object[][] {
-            { "user@123", "pass@123", "Username and password do not match" },
-            { "user with spaces", "password", "Username and password do not match" },
-            { "user!@#$%", "pass!@#$%", "Username and password do not match" }
-        };
+    public Iterator<Object[]> specialCharacterData() {
+        return TestDataSource.jsonl("testdata/special-characters.jsonl", "username", "password", "expectedError");
     }
 
     @DataProvider(name = "lockedOutUserData")
@@ -42,7 +48,7 @@ public class LoginDataProvider {
         };
     }
 
-    @DataProvider(name = "problemUserData")
+    @DataProvider(name = "problemUserData", parallel = true)
     public Object[][] problemUserData() {
         return new Object[][] {
             { "problem_user", "secret_sauce" },
@@ -0,0 +1,95 @@
+package com.selenium.dataproviders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads UTF-8 lines from a file through a sliding memory-mapped window, so files
+ * larger than the heap (or than 2 GB) are read without copying them into memory
+ */
+class MappedLineReader implements TestDataSource.LineReader {
+    private static final int WINDOW_SIZE = 8 << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private final ByteArrayOutputStream carry = new ByteArrayOutputStream();
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedLineReader(Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    MappedLineReader(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                long next = window == null ? 0 : windowStart + window.limit();
+                if (next >= size) {
+                    return carry.size() > 0 ? takeCarry() : null;
+                }
+                windowStart = next;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+            }
+
+            int start = window.position();
+            int limit = window.limit();
+            for (int i = start; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    window.position(i + 1);
+                    if (carry.size() == 0) {
+                        return stripCarriageReturn(decode(start, i));
+                    }
+                    copyToCarry(start, i);
+                    return takeCarry();
+                }
+            }
+            // The line continues in the next window
+            copyToCarry(start, limit);
+            window.position(limit);
+        }
+    }
+
+    private String decode(int from, int to) {
+        ByteBuffer slice = window.duplicate();
+        slice.position(from).limit(to);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    private void copyToCarry(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        ByteBuffer slice = window.duplicate();
+        slice.position(from).limit(to);
+        slice.get(bytes);
+        carry.write(bytes, 0, bytes.length);
+    }
+
+    private String takeCarry() {
+        String line = new String(carry.toByteArray(), StandardCharsets.UTF_8);
+        carry.reset();
+        return stripCarriageReturn(line);
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
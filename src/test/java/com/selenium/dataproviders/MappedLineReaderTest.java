@@ -0,0 +1,64 @@
+package com.selenium.dataproviders;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link MappedLineReader}, using tiny windows so lines cross window boundaries
+ */
+public class MappedLineReaderTest {
+
+    @Test
+    public void readsLinesAcrossWindows() throws IOException {
+        Assert.assertEquals(read("first line\nsecond\n\nlast\n", 4),
+                Arrays.asList("first line", "second", "", "last"));
+    }
+
+    @Test
+    public void stripsCarriageReturnsSplitFromTheirLineFeed() throws IOException {
+        // With a 6 byte window the first \r ends one window and its \n starts the next
+        Assert.assertEquals(read("alpha\r\nbeta\r\n", 6), Arrays.asList("alpha", "beta"));
+    }
+
+    @Test
+    public void decodesMultibyteCharactersCutByAWindow() throws IOException {
+        Assert.assertEquals(read("zo\u00EB,\u65E5\u672C\nna\u00EFve\n", 3),
+                Arrays.asList("zo\u00EB,\u65E5\u672C", "na\u00EFve"));
+    }
+
+    @Test
+    public void readsLastLineWithoutLineBreak() throws IOException {
+        Assert.assertEquals(read("one\ntwo", 2), Arrays.asList("one", "two"));
+        Assert.assertEquals(read("one\ntwo", 1 << 20), Arrays.asList("one", "two"));
+    }
+
+    @Test
+    public void readsNothingFromAnEmptyFile() throws IOException {
+        Assert.assertEquals(read("", 4), Arrays.asList());
+    }
+
+    private static List<String> read(String content, int windowSize) throws IOException {
+        Path file = Files.createTempFile("mapped", ".txt");
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>();
+            try (MappedLineReader reader = new MappedLineReader(file, windowSize)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.selenium.dataproviders;
+
+import com.selenium.utils.ConfigReader;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams data-provider rows from CSV or JSONL files. Rows are parsed one at a time
+ * as TestNG pulls them, so a file never has to fit in memory, as long as the
+ * provider is not parallel: TestNG reads every row of a parallel provider before
+ * running the first one. With
+ * data.shard.total &gt; 1 each JVM only gets the rows whose index falls in its
+ * data.shard.index. Files are read through a buffered channel or, with
+ * data.read.mode=mmap, memory-mapped.
+ */
+public final class TestDataSource {
+    private static final Json JSON = new Json();
+
+    private TestDataSource() {
+    }
+
+    /**
+     * Stream the given columns of a CSV file with a header row, or every column if none are given
+     * @param path File path, or classpath resource such as testdata/logins.csv
+     */
+    public static Iterator<Object[]> csv(String path, String... columns) {
+        return new CsvRows(path, open(path), columns, shardIndex(), shardTotal());
+    }
+
+    /**
+     * Stream the given fields of a file with one JSON object per line
+     * @param path File path, or classpath resource such as testdata/logins.jsonl
+     */
+    public static Iterator<Object[]> jsonl(String path, String... fields) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("JSONL rows need the field names to pass to the test: " + path);
+        }
+        return new JsonlRows(path, open(path), fields, shardIndex(), shardTotal());
+    }
+
+    static int shardIndex() {
+        return ConfigReader.getConfig().getDataShardIndex();
+    }
+
+    static int shardTotal() {
+        return ConfigReader.getConfig().getDataShardTotal();
+    }
+
+    /**
+     * Open a file, or a classpath resource. Resources inside a jar cannot be mapped or
+     * opened as a channel, so they are streamed through a buffered reader.
+     */
+    private static LineReader open(String path) {
+        Path file = Paths.get(path);
+        if (Files.isRegularFile(file)) {
+            return openLines(file);
+        }
+        URL resource = Thread.currentThread().getContextClassLoader().getResource(path);
+        if (resource == null) {
+            throw new IllegalArgumentException("Test data file not found: " + path);
+        }
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return openLines(Paths.get(resource.toURI()));
+            }
+            return lines(new BufferedReader(new InputStreamReader(resource.openStream(),
+                    StandardCharsets.UTF_8.newDecoder()), 1 << 16));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Bad test data location: " + resource, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open test data " + resource, e);
+        }
+    }
+
+    private static LineReader openLines(Path file) {
+        try {
+            if (ConfigReader.getConfig().isDataReadMapped()) {
+                return new MappedLineReader(file);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            return lines(new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1),
+                    1 << 16));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open test data " + file, e);
+        }
+    }
+
+    private static LineReader lines(BufferedReader reader) {
+        return new LineReader() {
+            @Override
+            public String readLine() throws IOException {
+                return reader.readLine();
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    /**
+     * Source of text lines without their terminators; null at end of file
+     */
+    interface LineReader extends Closeable {
+        String readLine() throws IOException;
+    }
+
+    /**
+     * Lazily parses records, skipping blank lines and rows of other shards
+     * without parsing them, and closes the file once the last row has been handed out
+     */
+    private abstract static class RowIterator implements Iterator<Object[]> {
+        protected final String source;
+        private final LineReader lines;
+        private final int shardIndex;
+        private final int shardTotal;
+        private long recordIndex;
+        private Object[] next;
+        private boolean started;
+        private boolean done;
+
+        RowIterator(String source, LineReader lines, int shardIndex, int shardTotal) {
+            this.source = source;
+            this.lines = lines;
+            this.shardIndex = shardIndex;
+            this.shardTotal = shardTotal;
+        }
+
+        /**
+         * Read the raw text of the next record, or null at end of file
+         */
+        protected String readRecord() throws IOException {
+            String line = lines.readLine();
+            if (!started) {
+                started = true;
+                // Spreadsheet exports often start with a UTF-8 byte order mark
+                if (line != null && line.startsWith("\uFEFF")) {
+                    return line.substring(1);
+                }
+            }
+            return line;
+        }
+
+        protected abstract Object[] parse(String record, long recordIndex);
+
+        static void close(LineReader lines, Exception failure) {
+            try {
+                lines.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = next;
+            next = null;
+            return row;
+        }
+
+        private void advance() {
+            try {
+                String record;
+                while ((record = readRecord()) != null) {
+                    if (record.trim().isEmpty()) {
+                        continue;
+                    }
+                    long index = recordIndex++;
+                    if (index % shardTotal == shardIndex) {
+                        next = parse(record, index);
+                        return;
+                    }
+                }
+                done = true;
+                lines.close();
+            } catch (IOException e) {
+                done = true;
+                close(lines, e);
+                throw new UncheckedIOException("Failed to read test data " + source, e);
+            } catch (RuntimeException e) {
+                // A malformed row ends the provider
+                done = true;
+                close(lines, e);
+                throw e;
+            }
+        }
+    }
+
+    private static final class CsvRows extends RowIterator {
+        private final int[] selected;
+        private final int width;
+
+        CsvRows(String source, LineReader lines, String[] columns, int shardIndex, int shardTotal) {
+            super(source, lines, shardIndex, shardTotal);
+            try {
+                String header = readRecord();
+                if (header == null) {
+                    throw new IllegalArgumentException("CSV test data has no header row: " + source);
+                }
+                List<String> names = parseCsv(header);
+                width = names.size();
+                selected = new int[columns.length == 0 ? width : columns.length];
+                for (int i = 0; i < selected.length; i++) {
+                    selected[i] = columns.length == 0 ? i : names.indexOf(columns[i]);
+                    if (selected[i] < 0) {
+                        throw new IllegalArgumentException("CSV test data " + source + " has no column '"
+                                + columns[i] + "', columns are " + names);
+                    }
+                }
+            } catch (IOException e) {
+                close(lines, e);
+                throw new UncheckedIOException("Failed to read test data " + source, e);
+            } catch (RuntimeException e) {
+                // The iterator is never handed out, so nothing else would close the file
+                close(lines, e);
+                throw e;
+            }
+        }
+
+        /**
+         * Join lines while a quoted field spans a line break
+         */
+        @Override
+        protected String readRecord() throws IOException {
+            String line = super.readRecord();
+            if (line == null) {
+                return null;
+            }
+            StringBuilder record = null;
+            while (hasOpenQuote(record == null ? line : record)) {
+                String more = super.readRecord();
+                if (more == null) {
+                    throw new IllegalArgumentException("Unterminated quoted field in test data " + source);
+                }
+                if (record == null) {
+                    record = new StringBuilder(line);
+                }
+                record.append('\n').append(more);
+            }
+            return record == null ? line : record.toString();
+        }
+
+        @Override
+        protected Object[] parse(String record, long recordIndex) {
+            List<String> values = parseCsv(record);
+            if (values.size() != width) {
+                throw new IllegalArgumentException("Row " + recordIndex + " of " + source + " has "
+                        + values.size() + " fields, expected " + width + ": " + record);
+            }
+            Object[] row = new Object[selected.length];
+            for (int i = 0; i < selected.length; i++) {
+                row[i] = values.get(selected[i]);
+            }
+            return row;
+        }
+
+        private static boolean hasOpenQuote(CharSequence text) {
+            boolean open = false;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    open = !open;
+                }
+            }
+            return open;
+        }
+
+        static List<String> parseCsv(String record) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class JsonlRows extends RowIterator {
+        private final String[] fields;
+
+        JsonlRows(String source, LineReader lines, String[] fields, int shardIndex, int shardTotal) {
+            super(source, lines, shardIndex, shardTotal);
+            this.fields = fields;
+        }
+
+        @Override
+        protected Object[] parse(String record, long recordIndex) {
+            Map<String, Object> object = JSON.toType(record, Json.MAP_TYPE);
+            Object[] row = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                if (!object.containsKey(fields[i])) {
+                    throw new IllegalArgumentException("Row " + recordIndex + " of " + source + " has no field '"
+                            + fields[i] + "', fields are " + Arrays.toString(object.keySet().toArray()));
+                }
+                row[i] = object.get(fields[i]);
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.selenium.dataproviders;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the CSV and JSONL parsing of {@link TestDataSource}
+ */
+public class TestDataSourceTest {
+    private Path directory;
+
+    @BeforeClass
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("test-data");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void csvSelectsColumnsByHeaderName() throws IOException {
+        Path file = write("columns.csv", "username,password,expectedError\nalice,secret,none\nbob,hunter2,locked\n");
+
+        List<Object[]> rows = rows(TestDataSource.csv(file.toString(), "expectedError", "username"));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new Object[] {"none", "alice"});
+        Assert.assertEquals(rows.get(1), new Object[] {"locked", "bob"});
+    }
+
+    @Test
+    public void csvReturnsEveryColumnWhenNoneAreGiven() throws IOException {
+        Path file = write("all.csv", "a,b,c\n1,2,3\n");
+
+        Assert.assertEquals(rows(TestDataSource.csv(file.toString())).get(0), new Object[] {"1", "2", "3"});
+    }
+
+    @Test
+    public void csvKeepsCommasInQuotedFields() throws IOException {
+        Path file = write("commas.csv", "username,expectedError\n\"smith, john\",\"Epic sadface: a, b\"\n");
+
+        Assert.assertEquals(rows(TestDataSource.csv(file.toString())).get(0),
+                new Object[] {"smith, john", "Epic sadface: a, b"});
+    }
+
+    @Test
+    public void csvUnescapesDoubledQuotes() throws IOException {
+        Path file = write("quotes.csv", "username,password\n\"say \"\"hi\"\"\",\"\"\"\"\n");
+
+        Assert.assertEquals(rows(TestDataSource.csv(file.toString())).get(0), new Object[] {"say \"hi\"", "\""});
+    }
+
+    @Test
+    public void csvJoinsQuotedFieldsAcrossLineBreaks() throws IOException {
+        Path file = write("newlines.csv", "username,note\n\"multi\nline\",x\nnext,y\n");
+
+        List<Object[]> rows = rows(TestDataSource.csv(file.toString()));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new Object[] {"multi\nline", "x"});
+        Assert.assertEquals(rows.get(1), new Object[] {"next", "y"});
+    }
+
+    @Test
+    public void csvSkipsByteOrderMark() throws IOException {
+        Path file = write("bom.csv", "\uFEFFusername,password\nalice,secret\n");
+
+        Assert.assertEquals(rows(TestDataSource.csv(file.toString(), "username")).get(0), new Object[] {"alice"});
+    }
+
+    @Test
+    public void csvReadsLastLineWithoutLineBreak() throws IOException {
+        Path file = write("truncated.csv", "username,password\r\nalice,secret\r\nbob,hunter2");
+
+        List<Object[]> rows = rows(TestDataSource.csv(file.toString()));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new Object[] {"alice", "secret"});
+        Assert.assertEquals(rows.get(1), new Object[] {"bob", "hunter2"});
+    }
+
+    @Test
+    public void csvSkipsBlankLinesAndKeepsEmptyFields() throws IOException {
+        Path file = write("blank.csv", "username,password\n\n,\n\n");
+
+        List<Object[]> rows = rows(TestDataSource.csv(file.toString()));
+
+        Assert.assertEquals(rows.size(), 1);
+        Assert.assertEquals(rows.get(0), new Object[] {"", ""});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Unterminated.*")
+    public void csvRejectsQuotedFieldCutOffAtEndOfFile() throws IOException {
+        Path file = write("unterminated.csv", "username,password\n\"alice,secret\n");
+
+        rows(TestDataSource.csv(file.toString()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Row 0 .* has 1 fields.*")
+    public void csvRejectsRowsWithMissingFields() throws IOException {
+        Path file = write("short.csv", "username,password\nalice\n");
+
+        rows(TestDataSource.csv(file.toString()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*no column 'email'.*")
+    public void csvRejectsUnknownColumns() throws IOException {
+        Path file = write("columns-unknown.csv", "username,password\nalice,secret\n");
+
+        TestDataSource.csv(file.toString(), "email");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*no header row.*")
+    public void csvRejectsEmptyFiles() throws IOException {
+        Path file = write("empty.csv", "");
+
+        TestDataSource.csv(file.toString());
+    }
+
+    @Test
+    public void jsonlReadsFieldsInTheGivenOrder() throws IOException {
+        Path file = write("rows.jsonl", "{\"username\":\"alice\",\"password\":\"a,b\\n\\\"c\\\"\"}\n"
+                + "\n{\"password\":\"x\",\"username\":\"bob\"}");
+
+        List<Object[]> rows = rows(TestDataSource.jsonl(file.toString(), "username", "password"));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new Object[] {"alice", "a,b\n\"c\""});
+        Assert.assertEquals(rows.get(1), new Object[] {"bob", "x"});
+    }
+
+    @Test
+    public void jsonlSkipsByteOrderMark() throws IOException {
+        Path file = write("bom.jsonl", "\uFEFF{\"username\":\"alice\"}\n");
+
+        Assert.assertEquals(rows(TestDataSource.jsonl(file.toString(), "username")).get(0), new Object[] {"alice"});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*no field 'password'.*")
+    public void jsonlRejectsRowsWithoutAField() throws IOException {
+        Path file = write("missing.jsonl", "{\"username\":\"alice\"}\n");
+
+        rows(TestDataSource.jsonl(file.toString(), "username", "password"));
+    }
+
+    @Test
+    public void readsClasspathResources() {
+        List<Object[]> rows = rows(TestDataSource.csv("testdata/invalid-logins.csv", "username"));
+
+        Assert.assertFalse(rows.isEmpty());
+    }
+
+    @Test
+    public void readsResourcesPackagedInAJar() throws IOException {
+        Path jar = directory.resolve("data.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("packaged/logins.csv"));
+            out.write("username,password\nalice,secret\n".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, original)) {
+            thread.setContextClassLoader(loader);
+            Assert.assertEquals(rows(TestDataSource.csv("packaged/logins.csv")).get(0), new Object[] {"alice", "secret"});
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private static List<Object[]> rows(Iterator<Object[]> iterator) {
+        List<Object[]> rows = new ArrayList<>();
+        iterator.forEachRemaining(row -> rows.add(Arrays.copyOf(row, row.length)));
+        return rows;
+    }
+}
@@ -4,7 +4,9 @@ import com.selenium.base.BaseTest;
 import com.selenium.dataproviders.LoginDataProvider;
 import com.selenium.pages.DashboardPage;
 import com.selenium.pages.LoginPage;
+import com.selenium.pages.PageObjectFactory;
 import com.selenium.utils.DriverFactory;
+import com.selenium.utils.SessionStateCache;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -18,8 +20,8 @@ public class DataDrivenLoginTest extends BaseTest {
     public void testValidLoginWithDataProvider(String username, String password) {
         logInfo("Starting data-driven test: Valid Login with username: " + username);
         
-        LoginPage loginPage = new LoginPage(DriverFactory.getDriver());
-        DashboardPage dashboardPage = new DashboardPage(DriverFactory.getDriver());
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
+        DashboardPage dashboardPage = PageObjectFactory.get(DriverFactory.getDriver(), DashboardPage.class);
         
         // Perform login
         loginPage.login(username, password);
@@ -30,12 +32,35 @@ public class DataDrivenLoginTest extends BaseTest {
         logPass("Successfully logged in with username: " + username);
     }
 
+    @Test(dataProvider = "repeatedSessionData", dataProviderClass = LoginDataProvider.class,
+          description = "Test the dashboard of a user whose session is restored from the session cache")
+    public void testDashboardWithCachedSession(String username, String password, int visit) {
+        logInfo("Starting data-driven test: Dashboard visit " + visit + " with username: " + username);
+        
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
+        
+        // Only the first visit in this JVM needs a UI login; sharding may deal it to another JVM
+        boolean cached = SessionStateCache.isEnabled() && SessionStateCache.isCached(username);
+        long hits = SessionStateCache.getHits();
+        DashboardPage dashboardPage = loginPage.loginWithSession(username, password);
+        
+        Assert.assertTrue(dashboardPage.isDashboardPageLoaded(),
+                         "Dashboard should be loaded for a cached or fresh session");
+        if (cached) {
+            Assert.assertTrue(SessionStateCache.getHits() > hits,
+                             "Cached session should be restored instead of logging in through the UI");
+            logPass("Dashboard loaded from the cached session of username: " + username);
+        } else {
+            logPass("Dashboard loaded after a UI login with username: " + username);
+        }
+    }
+
     @Test(dataProvider = "invalidLoginData", dataProviderClass = LoginDataProvider.class,
           description = "Test login failure with invalid credentials from data provider")
     public void testInvalidLoginWithDataProvider(String username, String password, String expectedError) {
         logInfo("Starting data-driven test: Invalid Login with username: " + username);
         
-        LoginPage loginPage = new LoginPage(DriverFactory.getDriver());
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
         
         // Perform login with invalid credentials
         loginPage.login(username, password);
@@ -56,7 +81,7 @@ public class DataDrivenLoginTest extends BaseTest {
     public void testLoginWithSpecialCharacters(String username, String password, String expectedError) {
         logInfo("Starting test: Login with special characters - username: " + username);
         
-        LoginPage loginPage = new LoginPage(DriverFactory.getDriver());
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
         
         // Perform login with special character credentials
         loginPage.login(username, password);
@@ -72,7 +97,7 @@ public class DataDrivenLoginTest extends BaseTest {
     public void testLockedOutUser(String username, String password, String expectedError) {
         logInfo("Starting test: Locked out user login - username: " + username);
         
-        LoginPage loginPage = new LoginPage(DriverFactory.getDriver());
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
         
         // Attempt login with locked out user
         loginPage.login(username, password);
@@ -92,11 +117,10 @@ public class DataDrivenLoginTest extends BaseTest {
     public void testProblemUsers(String username, String password) {
         logInfo("Starting test: Problem user login - username: " + username);
         
-        LoginPage loginPage = new LoginPage(DriverFactory.getDriver());
-        DashboardPage dashboardPage = new DashboardPage(DriverFactory.getDriver());
+        LoginPage loginPage = PageObjectFactory.get(DriverFactory.getDriver(), LoginPage.class);
         
-        // Perform login with problem user
-        loginPage.login(username, password);
+        // Log in with problem user, reusing the cached session after the first UI login
+        DashboardPage dashboardPage = loginPage.loginWithSession(username, password);
         
         // Verify login (problem users can still login but may have UI issues)
         Assert.assertTrue(dashboardPage.isDashboardPageLoaded(), 
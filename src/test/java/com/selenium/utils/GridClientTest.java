@@ -0,0 +1,59 @@
+package com.selenium.utils;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the session queue of {@link GridClient} against the {@link LocalGridServer} stand-in hub
+ */
+public class GridClientTest {
+    private static final ImmutableCapabilities CHROME = new ImmutableCapabilities("browserName", "chrome");
+
+    @AfterClass(alwaysRun = true)
+    public void stopGrid() {
+        LocalGridServer.stop();
+    }
+
+    @Test(timeOut = 60000)
+    public void queuedRequestGetsTheSlotOfAQuitSession() throws Exception {
+        GridClient client = new GridClient(LocalGridServer.getUrl(), 2, Duration.ofSeconds(30));
+        WebDriver first = client.newSession(CHROME);
+        WebDriver second = client.newSession(CHROME);
+
+        CompletableFuture<WebDriver> third = CompletableFuture.supplyAsync(() -> client.newSession(CHROME));
+        while (client.getPeakWaiting() == 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(client.getPeakWaiting(), 1);
+        Assert.assertFalse(third.isDone(), "Third session should wait while both slots are held");
+
+        first.quit();
+        WebDriver queued = third.get(30, TimeUnit.SECONDS);
+        Assert.assertNotNull(queued);
+
+        second.quit();
+        queued.quit();
+    }
+
+    @Test(timeOut = 60000)
+    public void requestTimesOutWhenNoSessionIsQuit() {
+        GridClient client = new GridClient(LocalGridServer.getUrl(), 1, Duration.ofMillis(200));
+        WebDriver held = client.newSession(CHROME);
+        try {
+            Assert.assertThrows(SessionNotCreatedException.class, () -> client.newSession(CHROME));
+            Assert.assertEquals(client.getPeakWaiting(), 1);
+        } finally {
+            held.quit();
+        }
+        // The slot comes back once the session is quit
+        client.newSession(CHROME).quit();
+    }
+}
@@ -0,0 +1,142 @@
+package com.selenium.utils;
+
+import org.testng.Assert;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the deterministic split of {@link ShardPlan}
+ */
+public class ShardPlanTest {
+    private static final int SHARDS = 3;
+    private static final String PREFIX = "com.example.CheckoutTest.";
+
+    private Path directory;
+    private Path historyFile;
+    private List<ITestNGMethod> methods;
+
+    @BeforeClass
+    public void writeHistory() throws IOException {
+        directory = Files.createTempDirectory("shard-plan");
+        historyFile = directory.resolve("durations.properties");
+        methods = new ArrayList<>();
+        Map<String, Long> measured = new LinkedHashMap<>();
+        long[] millis = {42000, 3000, 3000, 17000, 800, 9500, 3000, 26000, 1200};
+        for (int i = 0; i < millis.length; i++) {
+            methods.add(method("test" + i, false));
+            measured.put(PREFIX + "test" + i, millis[i]);
+        }
+        methods.add(method("rowsA", true));
+        methods.add(method("rowsB", true));
+        measured.put(PREFIX + "rowsA", 60000L);
+        TestDurationHistory history = new TestDurationHistory(historyFile, 0.3);
+        history.update(measured);
+        history.save();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteHistory() throws IOException {
+        Files.deleteIfExists(historyFile);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void shardsPlanningFromTheSameHistoryAgree() {
+        List<ITestNGMethod> shuffled = new ArrayList<>(methods);
+        Collections.shuffle(shuffled, new Random(7));
+
+        ShardPlan first = plan(methods, 0);
+        ShardPlan second = plan(shuffled, 1);
+
+        Assert.assertEquals(second.fingerprint(), first.fingerprint());
+        Assert.assertEquals(second.getMaxLoad(), first.getMaxLoad(), 0.001);
+    }
+
+    @Test
+    public void everyPlainMethodRunsOnExactlyOneShard() {
+        List<ShardPlan> plans = plans();
+        for (ITestNGMethod method : methods) {
+            int owners = 0;
+            for (ShardPlan plan : plans) {
+                owners += plan.owns(method) ? 1 : 0;
+            }
+            Assert.assertEquals(owners, method.isDataDriven() ? SHARDS : 1, method.getQualifiedName());
+        }
+    }
+
+    @Test
+    public void everyRowRunsOnExactlyOneShard() {
+        List<ShardPlan> plans = plans();
+        for (ITestNGMethod method : methods) {
+            if (!method.isDataDriven()) {
+                continue;
+            }
+            for (int row = 0; row < 50; row++) {
+                int owners = 0;
+                for (ShardPlan plan : plans) {
+                    owners += plan.ownsRow(method, row) ? 1 : 0;
+                }
+                Assert.assertEquals(owners, 1, method.getQualifiedName() + " row " + row);
+            }
+        }
+    }
+
+    @Test
+    public void methodsMissingFromThePlanStillRunOnExactlyOneShard() {
+        ITestNGMethod added = method("addedAfterPlanning", false);
+        int owners = 0;
+        for (ShardPlan plan : plans()) {
+            owners += plan.owns(added) ? 1 : 0;
+        }
+        Assert.assertEquals(owners, 1);
+    }
+
+    private List<ShardPlan> plans() {
+        List<ShardPlan> plans = new ArrayList<>();
+        for (int index = 0; index < SHARDS; index++) {
+            plans.add(plan(methods, index));
+        }
+        return plans;
+    }
+
+    private ShardPlan plan(List<ITestNGMethod> suite, int index) {
+        TestDurationHistory history = new TestDurationHistory(historyFile, 0.3).load();
+        double unknown = history.median(20000);
+        return ShardPlan.create(suite, method -> history.estimate(method.getQualifiedName(), unknown), index, SHARDS);
+    }
+
+    private static ITestNGMethod method(String name, boolean dataDriven) {
+        return (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class}, (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                        case "getQualifiedName":
+                            return PREFIX + name;
+                        case "isDataDriven":
+                            return dataDriven;
+                        case "getXmlTest":
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return name;
+                        default:
+                            throw new UnsupportedOperationException(invoked.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,111 @@
+package com.selenium.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the moving averages and the history file of {@link TestDurationHistory}
+ */
+public class TestDurationHistoryTest {
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("duration-history");
+        file = directory.resolve("durations.properties");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void firstMeasurementBecomesTheEstimate() {
+        TestDurationHistory history = new TestDurationHistory(file, 0.3);
+        history.update(Map.of("a", 1000L));
+
+        Assert.assertEquals(history.estimate("a", 0), 1000.0, 0.001);
+        Assert.assertEquals(history.estimate("unknown", 5000), 5000.0, 0.001);
+    }
+
+    @Test
+    public void laterMeasurementsMoveTheEstimateByAlpha() {
+        TestDurationHistory history = new TestDurationHistory(file, 0.25);
+        history.update(Map.of("a", 1000L));
+        history.update(Map.of("a", 3000L));
+        Assert.assertEquals(history.estimate("a", 0), 0.25 * 3000 + 0.75 * 1000, 0.001);
+
+        history.update(Map.of("a", 3000L));
+        Assert.assertEquals(history.estimate("a", 0), 0.25 * 3000 + 0.75 * 1500, 0.001);
+    }
+
+    @Test
+    public void medianOfEstimatesGuessesNewTests() {
+        TestDurationHistory history = new TestDurationHistory(file, 0.3);
+        Assert.assertEquals(history.median(20000), 20000.0, 0.001);
+
+        history.update(Map.of("a", 100L, "b", 5000L, "c", 900L));
+        Assert.assertEquals(history.median(20000), 900.0, 0.001);
+    }
+
+    @Test
+    public void savedEstimatesReloadUnchanged() throws IOException {
+        TestDurationHistory history = new TestDurationHistory(file, 0.5);
+        history.update(Map.of("Login/com.example.LoginTest.testLogin", 1200L, "Login/com.example.LoginTest.testLogout", 800L));
+        history.update(Map.of("Login/com.example.LoginTest.testLogin", 2000L));
+        history.save();
+
+        TestDurationHistory reloaded = new TestDurationHistory(file, 0.5).load();
+        Assert.assertEquals(reloaded.getEstimates(), history.getEstimates());
+    }
+
+    @Test
+    public void saveReplacesTheFileWithoutLeavingTemporaryFiles() throws IOException {
+        Files.write(file, Arrays.asList("a=100", "stale=5"), StandardCharsets.UTF_8);
+        TestDurationHistory history = new TestDurationHistory(file, 1.0).load();
+        history.update(Map.of("a", 300L));
+        history.save();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> left = files.collect(Collectors.toList());
+            Assert.assertEquals(left, Arrays.asList(file));
+        }
+        Map<String, Double> reloaded = new TestDurationHistory(file, 1.0).load().getEstimates();
+        Assert.assertEquals(reloaded, Map.of("a", 300.0, "stale", 5.0));
+    }
+
+    @Test
+    public void badEntriesAreSkippedOnLoad() throws IOException {
+        Files.write(file, Arrays.asList("# comment", "a=250", "b=fast"), StandardCharsets.UTF_8);
+
+        Assert.assertEquals(new TestDurationHistory(file, 0.3).load().getEstimates(), Map.of("a", 250.0));
+    }
+
+    @Test
+    public void shardRunsRoundTrip() throws IOException {
+        Path run = directory.resolve("shard-0-of-2.properties");
+        Map<String, Long> measured = Map.of("a", 1500L, "b", 30L);
+        TestDurationHistory.saveRun(run, measured);
+
+        Assert.assertEquals(TestDurationHistory.loadRun(run), measured);
+    }
+}